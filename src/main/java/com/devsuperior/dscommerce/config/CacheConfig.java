@@ -0,0 +1,104 @@
+package com.devsuperior.dscommerce.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.devsuperior.dscommerce.services.cache.ProductSearchCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String PRODUCTS = "products";
+	public static final String PRODUCT_JSON = "productJson";
+	public static final String CATEGORY_JSON = "categoryJson";
+	public static final String PRODUCT_COUNTS = "productCounts";
+	public static final String PRODUCT_SEARCH = "productSearch";
+	public static final String ORDER_INTAKE = "orderIntake";
+	public static final String ORDER_IDEMPOTENCY = "orderIdempotency";
+
+	@Value("${catalog.cache.products.max-size}")
+	private Long productsMaxSize;
+
+	@Value("${catalog.cache.products.ttl}")
+	private Duration productsTtl;
+
+	@Value("${catalog.cache.json.max-size}")
+	private Long jsonMaxSize;
+
+	@Value("${catalog.cache.json.ttl}")
+	private Duration jsonTtl;
+
+	@Value("${catalog.cache.counts.max-size}")
+	private Long countsMaxSize;
+
+	@Value("${catalog.cache.counts.ttl}")
+	private Duration countsTtl;
+
+	@Value("${catalog.cache.search.max-size}")
+	private DataSize searchMaxSize;
+
+	@Value("${catalog.cache.search.ttl}")
+	private Duration searchTtl;
+
+	@Value("${orders.intake.status-max-size}")
+	private Long intakeStatusMaxSize;
+
+	@Value("${orders.intake.status-ttl}")
+	private Duration intakeStatusTtl;
+
+	@Value("${orders.idempotency.max-size}")
+	private Long idempotencyMaxSize;
+
+	@Value("${orders.idempotency.ttl}")
+	private Duration idempotencyTtl;
+
+	@Bean
+	public CacheManager cacheManager() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(PRODUCTS, Caffeine.newBuilder()
+				.maximumSize(productsMaxSize)
+				.expireAfterWrite(productsTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(PRODUCT_JSON, Caffeine.newBuilder()
+				.maximumSize(jsonMaxSize)
+				.expireAfterWrite(jsonTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(CATEGORY_JSON, Caffeine.newBuilder()
+				.maximumSize(1)
+				.expireAfterWrite(jsonTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(PRODUCT_COUNTS, Caffeine.newBuilder()
+				.maximumSize(countsMaxSize)
+				.expireAfterWrite(countsTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(PRODUCT_SEARCH, Caffeine.newBuilder()
+				.maximumWeight(searchMaxSize.toBytes())
+				.weigher(ProductSearchCache::weigh)
+				.expireAfterWrite(searchTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(ORDER_INTAKE, Caffeine.newBuilder()
+				.maximumSize(intakeStatusMaxSize)
+				.expireAfterWrite(intakeStatusTtl)
+				.build());
+		cacheManager.registerCustomCache(ORDER_IDEMPOTENCY, Caffeine.newBuilder()
+				.maximumSize(idempotencyMaxSize)
+				.expireAfterWrite(idempotencyTtl)
+				.build());
+		return cacheManager;
+	}
+}
@@ -0,0 +1,20 @@
+package com.devsuperior.dscommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.devsuperior.dscommerce.entities.PooledSequenceGenerator;
+
+@Configuration
+public class JpaConfig {
+
+	@Value("${orders.id.allocation-size}")
+	private Integer idAllocationSize;
+
+	@Bean
+	public HibernatePropertiesCustomizer idAllocationCustomizer() {
+		return properties -> properties.put(PooledSequenceGenerator.ALLOCATION_SIZE, idAllocationSize);
+	}
+}
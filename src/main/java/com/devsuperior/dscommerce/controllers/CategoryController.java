@@ -1,15 +1,19 @@
 package com.devsuperior.dscommerce.controllers;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.VersionDTO;
 import com.devsuperior.dscommerce.services.CategoryService;
+import com.devsuperior.dscommerce.services.cache.CachedJson;
+import com.devsuperior.dscommerce.services.cache.JsonResponseCache;
 
 @RestController
 @RequestMapping(value = "/categories")
@@ -18,9 +22,17 @@ public class CategoryController {
     @Autowired
     private CategoryService service;
 
+    @Autowired
+    private JsonResponseCache responseCache;
+
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> findAll() {
-        List<CategoryDTO> list = service.findAll();
-        return ResponseEntity.ok(list);
+    public ResponseEntity<byte[]> findAll(WebRequest request,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        VersionDTO version = service.findVersion();
+        if (responseCache.checkNotModified(request, version, acceptEncoding)) {
+            return null;
+        }
+        CachedJson body = responseCache.get(CacheConfig.CATEGORY_JSON, "all", () -> service.findAll());
+        return responseCache.toResponse(body, acceptEncoding);
     }
 }
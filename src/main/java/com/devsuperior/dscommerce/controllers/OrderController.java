@@ -9,12 +9,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscommerce.dto.CursorPageDTO;
 import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderIntakeStatusDTO;
+import com.devsuperior.dscommerce.dto.OrderSummaryDTO;
 import com.devsuperior.dscommerce.services.OrderService;
+import com.devsuperior.dscommerce.services.cache.OrderIdempotencyCache;
+import com.devsuperior.dscommerce.services.intake.OrderIntakeService;
 
 import jakarta.validation.Valid;
 
@@ -25,6 +32,22 @@ public class OrderController {
     @Autowired
     private OrderService service;
 
+    @Autowired
+    private OrderIntakeService intakeService;
+
+    @Autowired
+    private OrderIdempotencyCache idempotencyCache;
+
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<OrderSummaryDTO>> findAll(
+            @RequestParam(name = "after", defaultValue = "") String after,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        size = Math.max(1, Math.min(size, 100));
+        CursorPageDTO<OrderSummaryDTO> dto = service.findAll(after, size);
+        return ResponseEntity.ok(dto);
+    }
+
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
     @GetMapping(value = "/{id}")
     public ResponseEntity<OrderDTO> findById(@PathVariable Long id) {
@@ -32,9 +55,30 @@ public class OrderController {
         return ResponseEntity.ok(dto);
     }
     
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
+    @GetMapping(value = "/intake/{trackingId}")
+    public ResponseEntity<OrderIntakeStatusDTO> findIntakeStatus(@PathVariable String trackingId) {
+        OrderIntakeStatusDTO dto = intakeService.findStatus(trackingId);
+        return ResponseEntity.ok(dto);
+    }
+
     @PreAuthorize("hasRole('ROLE_CLIENT')")
     @PostMapping
-    public ResponseEntity<OrderDTO> insert(@Valid @RequestBody OrderDTO dto) {
+    public ResponseEntity<?> insert(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody OrderDTO dto) {
+        if (idempotencyKey == null) {
+            return place(dto);
+        }
+        return idempotencyCache.execute(idempotencyKey, dto, () -> place(dto));
+    }
+
+    private ResponseEntity<?> place(OrderDTO dto) {
+        if (intakeService.isEnabled()) {
+            OrderIntakeStatusDTO status = intakeService.submit(dto);
+            URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/intake/{trackingId}")
+                    .buildAndExpand(status.getTrackingId()).toUri();
+            return ResponseEntity.accepted().location(uri).body(status);
+        }
         dto = service.insert(dto);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(dto.getId()).toUri();
@@ -1,28 +1,55 @@
 package com.devsuperior.dscommerce.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.CursorPageDTO;
 import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.dto.ProductDeleteResultDTO;
+import com.devsuperior.dscommerce.dto.ProductFilterDTO;
+import com.devsuperior.dscommerce.dto.ProductIdsDTO;
+import com.devsuperior.dscommerce.dto.ProductImportResultDTO;
+import com.devsuperior.dscommerce.dto.ProductLookupDTO;
 import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.dto.ProductPatchDTO;
+import com.devsuperior.dscommerce.dto.VersionDTO;
+import com.devsuperior.dscommerce.services.ProductExportService;
+import com.devsuperior.dscommerce.services.ProductImportService;
 import com.devsuperior.dscommerce.services.ProductService;
+import com.devsuperior.dscommerce.services.cache.CachedJson;
+import com.devsuperior.dscommerce.services.cache.JsonResponseCache;
+import com.devsuperior.dscommerce.services.search.ProductSuggestIndex;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 
 @RestController
 @RequestMapping(value = "/products")
@@ -31,17 +58,82 @@ public class ProductController {
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductExportService exportService;
+
+    @Autowired
+    private JsonResponseCache responseCache;
+
     @GetMapping(value = "/{id}")
-    public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-        ProductDTO dto = service.findById(id);
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        VersionDTO version = service.findVersion(id);
+        if (responseCache.checkNotModified(request, version, acceptEncoding)) {
+            return null;
+        }
+        CachedJson body = responseCache.getVersioned(CacheConfig.PRODUCT_JSON, id, () -> service.findVersionedById(id));
+        return responseCache.toResponse(body, request, acceptEncoding);
     }
 
     @GetMapping
     public ResponseEntity<Page<ProductMinDTO>> findAll(
             @RequestParam(name = "name", defaultValue = "") String name,
+            @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+            @RequestParam(name = "categoryId", defaultValue = "") List<Long> categoryIds,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
             Pageable pageable) {
-        Page<ProductMinDTO> dto = service.findAll(name, pageable);
+        ProductFilterDTO filter = new ProductFilterDTO(name, fuzzy, categoryIds, minPrice, maxPrice);
+        Page<ProductMinDTO> dto = service.findAll(filter, pageable);
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping(params = "withTotal=false")
+    public ResponseEntity<Slice<ProductMinDTO>> findAllSlice(
+            @RequestParam(name = "name", defaultValue = "") String name,
+            @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy,
+            @RequestParam(name = "categoryId", defaultValue = "") List<Long> categoryIds,
+            @RequestParam(name = "minPrice", required = false) Double minPrice,
+            @RequestParam(name = "maxPrice", required = false) Double maxPrice,
+            Pageable pageable) {
+        ProductFilterDTO filter = new ProductFilterDTO(name, fuzzy, categoryIds, minPrice, maxPrice);
+        Slice<ProductMinDTO> dto = service.findAllSlice(filter, pageable);
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        limit = Math.max(1, Math.min(limit, ProductSuggestIndex.MAX_SUGGESTIONS));
+        List<String> list = service.suggest(prefix, limit);
+        return ResponseEntity.ok(list);
+    }
+
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProductLookupDTO>> findByIds(
+            @RequestParam(name = "ids") @Size(max = 1000, message = "Máximo de 1000 ids por requisição") List<Long> ids) {
+        List<ProductLookupDTO> list = service.findByIds(ids);
+        return ResponseEntity.ok(list);
+    }
+
+    @PostMapping(value = "/lookup")
+    public ResponseEntity<List<ProductLookupDTO>> lookup(@Valid @RequestBody ProductIdsDTO dto) {
+        List<ProductLookupDTO> list = service.findByIds(dto.getIds());
+        return ResponseEntity.ok(list);
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<ProductMinDTO>> findAllAfter(
+            @RequestParam(name = "name", defaultValue = "") String name,
+            @RequestParam(name = "after") String after,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            Sort sort) {
+        size = Math.max(1, Math.min(size, 100));
+        CursorPageDTO<ProductMinDTO> dto = service.findAllAfter(name, after, size, sort);
         return ResponseEntity.ok(dto);
     }
 
@@ -54,6 +146,30 @@ public class ProductController {
         return ResponseEntity.created(uri).body(dto);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ProductImportResultDTO> importProducts(InputStream body) throws IOException {
+        ProductImportResultDTO result = importService.importProducts(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportNdjson() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportNdjson);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/export", params = "format=csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products.csv")
+                .body(exportService::exportCsv);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PutMapping(value = "/{id}")
     public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO dto) {
@@ -61,6 +177,20 @@ public class ProductController {
         return ResponseEntity.ok(dto);
     }
 
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PatchMapping(value = "/{id}")
+    public ResponseEntity<ProductDTO> patch(@PathVariable Long id, @Valid @RequestBody ProductPatchDTO dto) {
+        ProductDTO result = service.patch(id, dto);
+        return ResponseEntity.ok(result);
+    }
+
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/delete")
+    public ResponseEntity<List<ProductDeleteResultDTO>> deleteAll(@Valid @RequestBody ProductIdsDTO dto) {
+        List<ProductDeleteResultDTO> result = service.deleteAll(dto.getIds());
+        return ResponseEntity.ok(result);
+    }
+
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
@@ -0,0 +1,20 @@
+package com.devsuperior.dscommerce.dto;
+
+public class CategoryFacetDTO {
+
+    private Long categoryId;
+    private Long count;
+
+    public CategoryFacetDTO(Long categoryId, Long count) {
+        this.categoryId = categoryId;
+        this.count = count;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+}
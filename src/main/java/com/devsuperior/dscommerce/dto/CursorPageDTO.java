@@ -0,0 +1,32 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private boolean hasNext;
+    private String next;
+
+    public CursorPageDTO(List<T> content, boolean hasNext, String next) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,25 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * A page that also carries per-category counts. It serializes like a
+ * regular page plus a "facets" field.
+ */
+@SuppressWarnings("serial")
+public class FacetPageDTO<T> extends PageImpl<T> {
+
+    private final List<CategoryFacetDTO> facets;
+
+    public FacetPageDTO(Page<T> page, List<CategoryFacetDTO> facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    public List<CategoryFacetDTO> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class OrderIntakeStatusDTO {
+
+    public enum Status {
+        QUEUED, CREATED, FAILED
+    }
+
+    private String trackingId;
+    private Status status;
+    private Long orderId;
+    private String message;
+
+    @JsonIgnore
+    private Long clientId;
+
+    public OrderIntakeStatusDTO(String trackingId, Status status, Long orderId, String message, Long clientId) {
+        this.trackingId = trackingId;
+        this.status = status;
+        this.orderId = orderId;
+        this.message = message;
+        this.clientId = clientId;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.time.Instant;
+
+import com.devsuperior.dscommerce.entities.OrderStatus;
+
+public class OrderSummaryDTO {
+
+    private Long id;
+    private Instant moment;
+    private OrderStatus status;
+    private Long clientId;
+    private Long itemCount;
+    private Double total;
+
+    public OrderSummaryDTO(Long id, Instant moment, OrderStatus status, Long clientId, Long itemCount, Double total) {
+        this.id = id;
+        this.moment = moment;
+        this.status = status;
+        this.clientId = clientId;
+        this.itemCount = itemCount;
+        this.total = total;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getMoment() {
+        return moment;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public Long getItemCount() {
+        return itemCount;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+}
@@ -24,6 +24,7 @@ public class ProductDTO {
     @NotNull(message = "Campo requerido")
     @Positive(message = "O preço deve ser positivo")
     private Double price;
+    @Size(max = 255, message = "URL da imagem precisa ter no máximo 255 caracteres")
     private String imgUrl;
     
     @NotEmpty(message = "Deve ter pelo menos uma categoria")
@@ -0,0 +1,24 @@
+package com.devsuperior.dscommerce.dto;
+
+public class ProductDeleteResultDTO {
+
+    public enum Status {
+        DELETED, NOT_FOUND, REFERENCED
+    }
+
+    private Long id;
+    private Status status;
+
+    public ProductDeleteResultDTO(Long id, Status status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+}
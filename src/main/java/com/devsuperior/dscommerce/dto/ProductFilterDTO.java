@@ -0,0 +1,63 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public class ProductFilterDTO {
+
+    private String name;
+    private boolean fuzzy;
+    private List<Long> categoryIds;
+    private Double minPrice;
+    private Double maxPrice;
+
+    public ProductFilterDTO(String name, boolean fuzzy, List<Long> categoryIds, Double minPrice, Double maxPrice) {
+        this.name = name;
+        this.fuzzy = fuzzy;
+        this.categoryIds = List.copyOf(categoryIds);
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public ProductFilterDTO(String name) {
+        this(name, false, List.of(), null, null);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
+    public List<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProductFilterDTO that = (ProductFilterDTO) o;
+        return fuzzy == that.fuzzy && Objects.equals(name, that.name) && Objects.equals(categoryIds, that.categoryIds)
+                && Objects.equals(minPrice, that.minPrice) && Objects.equals(maxPrice, that.maxPrice);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, fuzzy, categoryIds, minPrice, maxPrice);
+    }
+}
@@ -0,0 +1,25 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class ProductIdsDTO {
+
+    @NotEmpty(message = "Deve ter pelo menos um id")
+    @Size(max = 1000, message = "Máximo de 1000 ids por requisição")
+    private List<Long> ids = new ArrayList<>();
+
+    public ProductIdsDTO() {
+    }
+
+    public ProductIdsDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
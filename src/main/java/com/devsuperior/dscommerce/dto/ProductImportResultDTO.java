@@ -0,0 +1,43 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResultDTO {
+
+    private long inserted;
+    private long updated;
+    private long failed;
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void addInserted(long count) {
+        inserted += count;
+    }
+
+    public void addUpdated(long count) {
+        updated += count;
+    }
+
+    public void addError(long line, String message, int maxReported) {
+        failed++;
+        if (errors.size() < maxReported) {
+            errors.add(new ImportErrorDTO(line, message));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.devsuperior.dscommerce.dto;
+
+public class ProductLookupDTO {
+
+    private Long id;
+    private ProductDTO product;
+
+    public ProductLookupDTO(Long id, ProductDTO product) {
+        this.id = id;
+        this.product = product;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isFound() {
+        return product != null;
+    }
+
+    public ProductDTO getProduct() {
+        return product;
+    }
+}
@@ -0,0 +1,51 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Partial product update: null fields are left untouched.
+ */
+public class ProductPatchDTO {
+
+    @Size(min = 3, max = 80, message = "Nome precisar ter de 3 a 80 caracteres")
+    private String name;
+    @Size(min = 10, message = "Descrição precisa ter no mínimo 10 caracteres")
+    private String description;
+    @Positive(message = "O preço deve ser positivo")
+    private Double price;
+    private String imgUrl;
+
+    @Size(min = 1, message = "Deve ter pelo menos uma categoria")
+    private List<CategoryDTO> categories;
+
+    public ProductPatchDTO(String name, String description, Double price, String imgUrl, List<CategoryDTO> categories) {
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.imgUrl = imgUrl;
+        this.categories = categories;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public String getImgUrl() {
+        return imgUrl;
+    }
+
+    public List<CategoryDTO> getCategories() {
+        return categories;
+    }
+}
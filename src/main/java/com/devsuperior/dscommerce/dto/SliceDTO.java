@@ -0,0 +1,23 @@
+package com.devsuperior.dscommerce.dto;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * A slice without an exact total. approximateTotal may lag behind recent
+ * writes; it is meant for "about N results" labels.
+ */
+@SuppressWarnings("serial")
+public class SliceDTO<T> extends SliceImpl<T> {
+
+    private final Long approximateTotal;
+
+    public SliceDTO(Slice<T> slice, Long approximateTotal) {
+        super(slice.getContent(), slice.getPageable(), slice.hasNext());
+        this.approximateTotal = approximateTotal;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+}
@@ -0,0 +1,26 @@
+package com.devsuperior.dscommerce.dto;
+
+import java.time.Instant;
+
+public class VersionDTO {
+
+    private String eTag;
+    private Instant lastModified;
+
+    public VersionDTO(String eTag, Instant lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public long getLastModifiedMillis() {
+        return (lastModified == null) ? -1 : lastModified.toEpochMilli();
+    }
+}
@@ -0,0 +1,20 @@
+package com.devsuperior.dscommerce.dto;
+
+public class VersionedDTO<T> {
+
+    private T body;
+    private VersionDTO version;
+
+    public VersionedDTO(T body, VersionDTO version) {
+        this.body = body;
+        this.version = version;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public VersionDTO getVersion() {
+        return version;
+    }
+}
@@ -2,6 +2,9 @@ package com.devsuperior.dscommerce.entities;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -15,6 +18,13 @@ public class Category {
     private Long id;
     private String name;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updatedAt;
+
     @ManyToMany(mappedBy = "categories")
     private Set<Product> products = new HashSet<>();
 
@@ -42,6 +52,20 @@ public class Category {
         this.name = name;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = Instant.now();
+    }
+
     public Set<Product> getProducts() {
         return products;
     }
@@ -1,6 +1,9 @@
 package com.devsuperior.dscommerce.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -10,11 +13,15 @@ import java.util.Set;
 
 
 @Entity
-@Table(name = "tb_order")
+@Table(name = "tb_order", indexes = {
+        @Index(name = "idx_order_moment", columnList = "moment, id"),
+        @Index(name = "idx_order_client_moment", columnList = "client_id, moment, id")})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "order_seq")
+    @GenericGenerator(name = "order_seq", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tb_order_seq"))
     private Long id;
 
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
@@ -28,7 +35,7 @@ public class Order {
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private Payment payment;
 
-    @OneToMany(mappedBy = "id.order")
+    @OneToMany(mappedBy = "id.order", cascade = CascadeType.PERSIST)
     private Set<OrderItem> items = new HashSet<>();
 
     public Order() {
@@ -0,0 +1,30 @@
+package com.devsuperior.dscommerce.entities;
+
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator that reserves a block of ids per database round trip
+ * (pooled-lo: the sequence holds the next free id). The block size comes
+ * from the {@value #ALLOCATION_SIZE} Hibernate setting, so it can change
+ * without touching the mappings.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "dscommerce.id.allocation-size";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE, StandardConverters.INTEGER, DEFAULT_INCREMENT_SIZE);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
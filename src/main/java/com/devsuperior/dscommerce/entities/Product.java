@@ -1,5 +1,6 @@
 package com.devsuperior.dscommerce.entities;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -10,26 +11,55 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.devsuperior.dscommerce.util.SearchTextUtil;
 
 @Entity
-@Table(name = "tb_product")
+@DynamicUpdate
+@Table(name = "tb_product", indexes = {
+        @Index(name = "idx_product_name_normalized", columnList = "name_normalized"),
+        @Index(name = "idx_product_sold_units", columnList = "sold_units")})
 public class Product {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String name;
+
+    @Column(name = "name_normalized")
+    private String nameNormalized;
     
     @Column(columnDefinition = "TEXT")
     private String description;
     private Double price;
     private String imgUrl;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updatedAt;
+
+    /**
+     * Maintained only by ProductSalesCounter flushes, never by entity saves.
+     */
+    @Column(name = "sold_units", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long soldUnits;
+
     @ManyToMany
     @JoinTable(name = "tb_product_category",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -90,6 +120,29 @@ public class Product {
         this.imgUrl = imgUrl;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getSoldUnits() {
+        return soldUnits;
+    }
+
+    public String getNameNormalized() {
+        return nameNormalized;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = Instant.now();
+        nameNormalized = (name == null) ? null : SearchTextUtil.normalize(name);
+    }
+
     public Set<Category> getCategories() {
         return categories;
     }
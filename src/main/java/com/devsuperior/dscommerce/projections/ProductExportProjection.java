@@ -0,0 +1,12 @@
+package com.devsuperior.dscommerce.projections;
+
+public interface ProductExportProjection {
+
+	Long getId();
+	String getName();
+	String getDescription();
+	Double getPrice();
+	String getImgUrl();
+	Long getCategoryId();
+	String getCategoryName();
+}
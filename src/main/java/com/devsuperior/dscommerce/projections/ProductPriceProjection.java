@@ -0,0 +1,7 @@
+package com.devsuperior.dscommerce.projections;
+
+public interface ProductPriceProjection {
+
+	Long getId();
+	Double getPrice();
+}
@@ -0,0 +1,8 @@
+package com.devsuperior.dscommerce.projections;
+
+public interface ProductSuggestionProjection {
+
+	Long getId();
+	String getName();
+	Long getSoldUnits();
+}
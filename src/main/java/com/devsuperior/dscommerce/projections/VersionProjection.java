@@ -0,0 +1,10 @@
+package com.devsuperior.dscommerce.projections;
+
+import java.time.Instant;
+
+public interface VersionProjection {
+
+	Long getCount();
+	Long getVersion();
+	Instant getLastModified();
+}
@@ -1,9 +1,14 @@
 package com.devsuperior.dscommerce.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.projections.VersionProjection;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @Query("SELECT COUNT(obj) AS count, MAX(obj.updatedAt) AS lastModified " +
+            "FROM Category obj")
+    VersionProjection searchCatalogVersion();
 }
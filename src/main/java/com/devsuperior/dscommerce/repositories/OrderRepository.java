@@ -1,9 +1,57 @@
 package com.devsuperior.dscommerce.repositories;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.devsuperior.dscommerce.dto.OrderSummaryDTO;
 import com.devsuperior.dscommerce.entities.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    @EntityGraph(attributePaths = {"client", "payment", "items"})
+    Optional<Order> findById(Long id);
+
+    /*
+     * One query per case instead of optional predicates, so each can use
+     * idx_order_moment or idx_order_client_moment as a bounded range scan.
+     * The page is cut on tb_order alone; item count and total are
+     * correlated subqueries, evaluated only for the rows within the limit.
+     */
+
+    @Query("SELECT new com.devsuperior.dscommerce.dto.OrderSummaryDTO(obj.id, obj.moment, obj.status, obj.client.id, " +
+            "(SELECT COUNT(item.id.product.id) FROM OrderItem item WHERE item.id.order.id = obj.id), " +
+            "(SELECT COALESCE(SUM(item.price * item.quantity), 0.0) FROM OrderItem item WHERE item.id.order.id = obj.id)) " +
+            "FROM Order obj " +
+            "ORDER BY obj.moment DESC, obj.id DESC")
+    List<OrderSummaryDTO> searchSummaries(Limit limit);
+
+    @Query("SELECT new com.devsuperior.dscommerce.dto.OrderSummaryDTO(obj.id, obj.moment, obj.status, obj.client.id, " +
+            "(SELECT COUNT(item.id.product.id) FROM OrderItem item WHERE item.id.order.id = obj.id), " +
+            "(SELECT COALESCE(SUM(item.price * item.quantity), 0.0) FROM OrderItem item WHERE item.id.order.id = obj.id)) " +
+            "FROM Order obj " +
+            "WHERE (obj.moment, obj.id) < (:moment, :id) " +
+            "ORDER BY obj.moment DESC, obj.id DESC")
+    List<OrderSummaryDTO> searchSummariesAfter(Instant moment, Long id, Limit limit);
+
+    @Query("SELECT new com.devsuperior.dscommerce.dto.OrderSummaryDTO(obj.id, obj.moment, obj.status, obj.client.id, " +
+            "(SELECT COUNT(item.id.product.id) FROM OrderItem item WHERE item.id.order.id = obj.id), " +
+            "(SELECT COALESCE(SUM(item.price * item.quantity), 0.0) FROM OrderItem item WHERE item.id.order.id = obj.id)) " +
+            "FROM Order obj " +
+            "WHERE obj.client.id = :clientId " +
+            "ORDER BY obj.moment DESC, obj.id DESC")
+    List<OrderSummaryDTO> searchSummariesByClient(Long clientId, Limit limit);
+
+    @Query("SELECT new com.devsuperior.dscommerce.dto.OrderSummaryDTO(obj.id, obj.moment, obj.status, obj.client.id, " +
+            "(SELECT COUNT(item.id.product.id) FROM OrderItem item WHERE item.id.order.id = obj.id), " +
+            "(SELECT COALESCE(SUM(item.price * item.quantity), 0.0) FROM OrderItem item WHERE item.id.order.id = obj.id)) " +
+            "FROM Order obj " +
+            "WHERE obj.client.id = :clientId AND (obj.moment, obj.id) < (:moment, :id) " +
+            "ORDER BY obj.moment DESC, obj.id DESC")
+    List<OrderSummaryDTO> searchSummariesByClientAfter(Long clientId, Instant moment, Long id, Limit limit);
 }
@@ -1,14 +1,120 @@
 package com.devsuperior.dscommerce.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.devsuperior.dscommerce.dto.CategoryFacetDTO;
+import com.devsuperior.dscommerce.dto.ProductMinDTO;
 import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.projections.ProductCategoryProjection;
+import com.devsuperior.dscommerce.projections.ProductExportProjection;
+import com.devsuperior.dscommerce.projections.ProductNameProjection;
+import com.devsuperior.dscommerce.projections.ProductPriceProjection;
+import com.devsuperior.dscommerce.projections.ProductSuggestionProjection;
+import com.devsuperior.dscommerce.projections.VersionProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT obj FROM Product obj " +
-            "WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%', :name, '%'))")
-    Page<Product> searchByName(String name, Pageable pageable);
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findById(Long id);
+
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findByIdIn(Collection<Long> ids);
+
+    String SELECT_MIN = "SELECT new com.devsuperior.dscommerce.dto.ProductMinDTO(obj.id, obj.name, obj.price, obj.imgUrl) ";
+    String MATCHES_NAME_AND_PRICE = "WHERE obj.nameNormalized LIKE CONCAT('%', :name, '%') " +
+            "AND (:minPrice IS NULL OR obj.price >= :minPrice) AND (:maxPrice IS NULL OR obj.price <= :maxPrice) ";
+    String IN_CATEGORIES = "AND obj.id IN (SELECT p.id FROM Product p JOIN p.categories cat WHERE cat.id IN :categoryIds) ";
+
+    @Query(value = SELECT_MIN + "FROM Product obj " + MATCHES_NAME_AND_PRICE,
+            countQuery = "SELECT COUNT(obj) FROM Product obj " + MATCHES_NAME_AND_PRICE)
+    Page<ProductMinDTO> searchByName(String name, Double minPrice, Double maxPrice, Pageable pageable);
+
+    @Query(value = SELECT_MIN + "FROM Product obj " + MATCHES_NAME_AND_PRICE + IN_CATEGORIES,
+            countQuery = "SELECT COUNT(obj) FROM Product obj " + MATCHES_NAME_AND_PRICE + IN_CATEGORIES)
+    Page<ProductMinDTO> searchByNameAndCategories(String name, List<Long> categoryIds, Double minPrice, Double maxPrice,
+            Pageable pageable);
+
+    @Query(SELECT_MIN + "FROM Product obj " + MATCHES_NAME_AND_PRICE)
+    Slice<ProductMinDTO> searchSliceByName(String name, Double minPrice, Double maxPrice, Pageable pageable);
+
+    @Query(SELECT_MIN + "FROM Product obj " + MATCHES_NAME_AND_PRICE + IN_CATEGORIES)
+    Slice<ProductMinDTO> searchSliceByNameAndCategories(String name, List<Long> categoryIds, Double minPrice, Double maxPrice,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(obj) FROM Product obj " + MATCHES_NAME_AND_PRICE)
+    long countMatching(String name, Double minPrice, Double maxPrice);
+
+    @Query("SELECT COUNT(obj) FROM Product obj " + MATCHES_NAME_AND_PRICE + IN_CATEGORIES)
+    long countMatchingInCategories(String name, List<Long> categoryIds, Double minPrice, Double maxPrice);
+
+    @Query("SELECT new com.devsuperior.dscommerce.dto.CategoryFacetDTO(cat.id, COUNT(obj)) " +
+            "FROM Product obj JOIN obj.categories cat " + MATCHES_NAME_AND_PRICE +
+            "GROUP BY cat.id ORDER BY cat.id")
+    List<CategoryFacetDTO> countByCategory(String name, Double minPrice, Double maxPrice);
+
+    @Query(SELECT_MIN + "FROM Product obj WHERE obj.id IN :ids")
+    List<ProductMinDTO> searchMinByIds(List<Long> ids);
+
+    Window<Product> findByNameNormalizedContaining(String name, ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT MIN(obj.name) FROM Product obj " +
+            "WHERE obj.nameNormalized LIKE CONCAT(:prefix, '%') " +
+            "GROUP BY obj.nameNormalized ORDER BY SUM(obj.soldUnits) DESC, MIN(obj.name)")
+    List<String> searchNamesByPrefix(String prefix, Pageable pageable);
+
+    @Query("SELECT obj.id AS id, obj.name AS name FROM Product obj WHERE obj.id > :afterId AND obj.nameNormalized IS NULL ORDER BY obj.id")
+    List<ProductNameProjection> searchNamesToNormalize(Long afterId, Pageable pageable);
+
+    @Query("SELECT obj.id AS id, obj.name AS name FROM Product obj")
+    List<ProductNameProjection> searchProductNames();
+
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.soldUnits AS soldUnits FROM Product obj")
+    List<ProductSuggestionProjection> searchProductSuggestions();
+
+    @Query("SELECT obj.id AS id, obj.price AS price FROM Product obj ORDER BY obj.price, obj.id")
+    List<ProductPriceProjection> searchProductPrices();
+
+    @Query("SELECT obj.id AS productId, cat.id AS categoryId FROM Product obj JOIN obj.categories cat")
+    List<ProductCategoryProjection> searchProductCategories();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.description AS description, obj.price AS price, " +
+            "obj.imgUrl AS imgUrl, cat.id AS categoryId, cat.name AS categoryName " +
+            "FROM Product obj LEFT JOIN obj.categories cat ORDER BY obj.id, cat.id")
+    Stream<ProductExportProjection> streamCatalog();
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.id IN :ids")
+    List<Long> searchExistingIds(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT item.id.product.id FROM OrderItem item WHERE item.id.product.id IN :ids")
+    List<Long> searchReferencedIds(Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_product_category WHERE product_id IN :ids", nativeQuery = true)
+    int deleteCategoryLinks(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Product obj WHERE obj.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
+
+    @Query("SELECT COUNT(obj) AS count, MAX(obj.version) AS version, MAX(obj.updatedAt) AS lastModified " +
+            "FROM Product obj WHERE obj.id = :id")
+    VersionProjection searchVersionById(Long id);
 }
@@ -3,6 +3,7 @@ package com.devsuperior.dscommerce.repositories;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -20,5 +21,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
 			""")
 	List<UserDetailsProjection> searchUserAndRolesByEmail(String email);
 	
+	@EntityGraph(attributePaths = "roles")
 	Optional<User> findByEmail(String email);
 }
@@ -1,5 +1,7 @@
 package com.devsuperior.dscommerce.services;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,7 +9,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.VersionDTO;
 import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.projections.VersionProjection;
 import com.devsuperior.dscommerce.repositories.CategoryRepository;
 
 @Service
@@ -21,4 +25,17 @@ public class CategoryService {
         List<Category> result = repository.findAll();
         return result.stream().map(x -> new CategoryDTO(x)).toList();
     }
+
+    /**
+     * Tags the collection with its size and latest change: a delete lowers
+     * the count, and an insert or edit moves the latest updatedAt forward.
+     */
+    @Transactional(readOnly = true)
+    public VersionDTO findVersion() {
+        VersionProjection version = repository.searchCatalogVersion();
+        Instant lastModified = version.getLastModified();
+        long micros = (lastModified == null) ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, lastModified);
+        String eTag = "\"categories-" + version.getCount() + "-" + micros + "\"";
+        return new VersionDTO(eTag, version.getLastModified());
+    }
 }
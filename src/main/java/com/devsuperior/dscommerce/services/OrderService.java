@@ -1,41 +1,58 @@
 package com.devsuperior.dscommerce.services;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devsuperior.dscommerce.dto.CursorPageDTO;
 import com.devsuperior.dscommerce.dto.OrderDTO;
 import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.dto.OrderSummaryDTO;
 import com.devsuperior.dscommerce.entities.Order;
 import com.devsuperior.dscommerce.entities.OrderItem;
 import com.devsuperior.dscommerce.entities.OrderStatus;
 import com.devsuperior.dscommerce.entities.Product;
 import com.devsuperior.dscommerce.entities.User;
-import com.devsuperior.dscommerce.repositories.OrderItemRepository;
 import com.devsuperior.dscommerce.repositories.OrderRepository;
 import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.OrderPlacedEvent;
+import com.devsuperior.dscommerce.services.exceptions.InvalidCursorException;
 import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.util.CursorUtil;
 
 @Service
 public class OrderService {
 
+    private static final Map<String, Class<?>> CURSOR_KEYS = Map.of("moment", Instant.class, "id", Long.class);
+
     @Autowired
     private OrderRepository repository;
     
     @Autowired
     private ProductRepository productRepository;
     
-    @Autowired
-    private OrderItemRepository orderItemRepository;
-    
     @Autowired
     private UserService userService;
     
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public OrderDTO findById(Long id) {
         Order order = repository.findById(id).orElseThrow(
@@ -44,26 +61,115 @@ public class OrderService {
         return new OrderDTO(order);
     }
 
+    /**
+     * Lists order summaries newest first, continuing after the (moment, id)
+     * position in the cursor. Clients see their own orders, admins all of
+     * them; item count and total are aggregated in SQL.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderSummaryDTO> findAll(String after, int size) {
+        User me = userService.authenticated();
+        Long clientId = me.hasRole("ROLE_ADMIN") ? null : me.getId();
+        Instant moment = null;
+        Long id = null;
+        if (!after.isEmpty()) {
+            Map<String, Object> keys = CursorUtil.decode(after, CURSOR_KEYS);
+            if (!keys.keySet().equals(CURSOR_KEYS.keySet()) || keys.containsValue(null)) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            moment = (Instant) keys.get("moment");
+            id = (Long) keys.get("id");
+        }
+        List<OrderSummaryDTO> content = searchSummaries(clientId, moment, id, Limit.of(size + 1));
+        boolean hasNext = content.size() > size;
+        String next = null;
+        if (hasNext) {
+            content = content.subList(0, size);
+            OrderSummaryDTO last = content.get(size - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("moment", last.getMoment());
+            keys.put("id", last.getId());
+            next = CursorUtil.encode(keys);
+        }
+        return new CursorPageDTO<>(content, hasNext, next);
+    }
+
+    private List<OrderSummaryDTO> searchSummaries(Long clientId, Instant moment, Long id, Limit limit) {
+        if (clientId == null) {
+            return (moment == null)
+                    ? repository.searchSummaries(limit)
+                    : repository.searchSummariesAfter(moment, id, limit);
+        }
+        return (moment == null)
+                ? repository.searchSummariesByClient(clientId, limit)
+                : repository.searchSummariesByClientAfter(clientId, moment, id, limit);
+    }
+
     @Transactional
 	public OrderDTO insert(OrderDTO dto) {
+		return insert(dto, userService.authenticated());
+	}
+
+    /**
+     * Places an order for a client resolved by the caller. Joins the
+     * surrounding transaction, so the async intake writers can place a
+     * whole batch of orders in one commit.
+     */
+    @Transactional
+	public OrderDTO insert(OrderDTO dto, User client) {
 		
     	Order order = new Order();
     	
     	order.setMoment(Instant.now());
     	order.setStatus(OrderStatus.WAITING_PAYMENT);
+    	order.setClient(client);
     	
-    	User user = userService.authenticated();
-    	order.setClient(user);
-    	
+    	Map<Long, Product> products = loadProducts(dto.getItems());
     	for (OrderItemDTO itemDto : dto.getItems()) {
-    		Product product = productRepository.getReferenceById(itemDto.getProductId());
+    		Product product = products.get(itemDto.getProductId());
     		OrderItem item = new OrderItem(order, product, itemDto.getQuantity(), product.getPrice());
     		order.getItems().add(item);
     	}
     	
     	Order result = repository.save(order);
-    	orderItemRepository.saveAll(order.getItems());
     	
-    	return new OrderDTO(result);
+    	OrderDTO resultDto = new OrderDTO(result);
+    	eventPublisher.publishEvent(new OrderPlacedEvent(resultDto));
+    	return resultDto;
 	}
+
+    /**
+     * Checks that every product of the order exists without loading the
+     * entities, so a request can be rejected before it is queued.
+     */
+    @Transactional(readOnly = true)
+    public void validate(OrderDTO dto) {
+        Set<Long> ids = productIds(dto.getItems());
+        requireAll(ids, productRepository.searchExistingIds(ids.stream().filter(Objects::nonNull).toList()));
+    }
+
+    /**
+     * Loads every product of the order with a single IN query and rejects
+     * the order before any insert when one of them does not exist.
+     */
+    private Map<Long, Product> loadProducts(List<OrderItemDTO> items) {
+        Set<Long> ids = productIds(items);
+        Map<Long, Product> products = productRepository.findAllById(ids.stream().filter(Objects::nonNull).toList())
+                .stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        requireAll(ids, products.keySet());
+        return products;
+    }
+
+    private static Set<Long> productIds(List<OrderItemDTO> items) {
+        return items.stream().map(OrderItemDTO::getProductId).collect(Collectors.toSet());
+    }
+
+    private static void requireAll(Set<Long> ids, Collection<Long> found) {
+        Set<Long> existing = new HashSet<>(found);
+        List<String> missing = ids.stream().filter(id -> !existing.contains(id))
+                .map(String::valueOf).sorted().toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Produto não encontrado: " + String.join(", ", missing));
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.devsuperior.dscommerce.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.projections.ProductExportProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes the whole catalog in a single forward-only pass over one
+ * product/category join, so memory use does not grow with the catalog.
+ */
+@Service
+public class ProductExportService {
+
+    private static final String CSV_HEADER = "id,name,description,price,imgUrl,categoryIds,categoryNames";
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        export(product -> {
+            objectMapper.writeValue(generator, product);
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        export(product -> {
+            writer.write(String.valueOf(product.getId()));
+            writer.write(',');
+            writer.write(csv(product.getName()));
+            writer.write(',');
+            writer.write(csv(product.getDescription()));
+            writer.write(',');
+            writer.write(String.valueOf(product.getPrice()));
+            writer.write(',');
+            writer.write(csv(product.getImgUrl()));
+            writer.write(',');
+            writer.write(csv(product.getCategories().stream().map(c -> String.valueOf(c.getId())).collect(Collectors.joining("|"))));
+            writer.write(',');
+            writer.write(csv(product.getCategories().stream().map(CategoryDTO::getName).collect(Collectors.joining("|"))));
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    private void export(ProductWriter productWriter) throws IOException {
+        try (Stream<ProductExportProjection> rows = repository.streamCatalog()) {
+            Iterator<ProductExportProjection> it = rows.iterator();
+            ProductDTO current = null;
+            while (it.hasNext()) {
+                ProductExportProjection row = it.next();
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        productWriter.write(current);
+                    }
+                    current = new ProductDTO(row.getId(), row.getName(), row.getDescription(), row.getPrice(), row.getImgUrl());
+                }
+                if (row.getCategoryId() != null) {
+                    current.getCategories().add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+                }
+            }
+            if (current != null) {
+                productWriter.write(current);
+            }
+        }
+    }
+
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface ProductWriter {
+        void write(ProductDTO product) throws IOException;
+    }
+}
@@ -0,0 +1,292 @@
+package com.devsuperior.dscommerce.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.dto.ProductImportResultDTO;
+import com.devsuperior.dscommerce.entities.Category;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports products from an NDJSON stream, one ProductDTO per line. Lines
+ * with an id update that product, lines without one insert a new product.
+ * Valid lines are written in chunks with JDBC batches, so the file is
+ * never held in memory. A chunk the database rejects is rolled back and
+ * its lines are retried one at a time, so only the offending lines are
+ * reported as failed.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductImportService.class);
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_PRODUCT = "INSERT INTO tb_product (name, description, price, img_url, updated_at, "
+            + "name_normalized, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+    private static final String UPDATE_PRODUCT = "UPDATE tb_product SET name = ?, description = ?, price = ?, img_url = ?, "
+            + "updated_at = ?, name_normalized = ?, version = version + 1 WHERE id = ?";
+    private static final String DELETE_CATEGORIES = "DELETE FROM tb_product_category WHERE product_id = ?";
+    private static final String INSERT_CATEGORY = "INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+
+    @Value("${catalog.import.chunk-size}")
+    private int chunkSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public ProductImportResultDTO importProducts(InputStream input) throws IOException {
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        Set<Long> categoryIds = categoryRepository.findAll().stream().map(Category::getId).collect(Collectors.toSet());
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            ImportLine record = parse(lineNumber, line, categoryIds, result);
+            if (record != null) {
+                chunk.add(record);
+            }
+            if (chunk.size() == chunkSize) {
+                flush(chunk, result);
+            }
+        }
+        flush(chunk, result);
+        return result;
+    }
+
+    private ImportLine parse(long lineNumber, String line, Set<Long> categoryIds, ProductImportResultDTO result) {
+        ProductDTO dto;
+        try {
+            dto = objectMapper.readValue(line, ProductDTO.class);
+        }
+        catch (IOException e) {
+            result.addError(lineNumber, "JSON inválido", MAX_REPORTED_ERRORS);
+            return null;
+        }
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            result.addError(lineNumber, message, MAX_REPORTED_ERRORS);
+            return null;
+        }
+        for (CategoryDTO cat : dto.getCategories()) {
+            if (!categoryIds.contains(cat.getId())) {
+                result.addError(lineNumber, "Categoria inexistente: " + cat.getId(), MAX_REPORTED_ERRORS);
+                return null;
+            }
+        }
+        return new ImportLine(lineNumber, dto);
+    }
+
+    private void flush(List<ImportLine> chunk, ProductImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            write(chunk, result);
+        }
+        finally {
+            chunk.clear();
+        }
+    }
+
+    private void write(List<ImportLine> chunk, ProductImportResultDTO result) {
+        List<ImportLine> updates = chunk.stream().filter(x -> x.dto.getId() != null).toList();
+        List<ImportLine> inserts = chunk.stream().filter(x -> x.dto.getId() == null).toList();
+        Timestamp now = Timestamp.from(Instant.now());
+
+        List<ImportLine> missing = new ArrayList<>();
+        try {
+            List<ImportLine> written = transactionTemplate.execute(status -> {
+                List<ImportLine> lines = new ArrayList<>(update(updates, now, missing));
+                lines.addAll(insert(inserts, now));
+                replaceCategories(lines, updates);
+                for (ImportLine line : lines) {
+                    eventPublisher.publishEvent(new ProductChangedEvent(line.id, line.toProductDTO()));
+                }
+                return lines;
+            });
+            for (ImportLine line : missing) {
+                result.addError(line.number, "Produto inexistente: " + line.dto.getId(), MAX_REPORTED_ERRORS);
+            }
+            result.addInserted(inserts.size());
+            result.addUpdated(written.size() - inserts.size());
+        }
+        catch (DataAccessException | TransactionException e) {
+            if (chunk.size() == 1) {
+                LOG.warn("Product import line {} was rejected", chunk.get(0).number, e);
+                result.addError(chunk.get(0).number, "Falha ao gravar o produto", MAX_REPORTED_ERRORS);
+                return;
+            }
+            LOG.warn("Product import chunk from line {} to {} was rolled back, retrying line by line",
+                    chunk.get(0).number, chunk.get(chunk.size() - 1).number, e);
+            for (ImportLine line : chunk) {
+                line.id = null;
+                write(List.of(line), result);
+            }
+        }
+    }
+
+    private List<ImportLine> update(List<ImportLine> updates, Timestamp now, List<ImportLine> missing) {
+        if (updates.isEmpty()) {
+            return updates;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_PRODUCT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProductDTO dto = updates.get(i).dto;
+                setProductValues(ps, dto, now);
+                ps.setLong(7, dto.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return updates.size();
+            }
+        });
+        List<ImportLine> updated = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            ImportLine line = updates.get(i);
+            if (counts[i] == 0) {
+                missing.add(line);
+            }
+            else {
+                line.id = line.dto.getId();
+                updated.add(line);
+            }
+        }
+        return updated;
+    }
+
+    private List<ImportLine> insert(List<ImportLine> inserts, Timestamp now) {
+        if (inserts.isEmpty()) {
+            return inserts;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_PRODUCT, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setProductValues(ps, inserts.get(i).dto, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < inserts.size(); i++) {
+            inserts.get(i).id = ((Number) keys.get(i).values().iterator().next()).longValue();
+        }
+        return inserts;
+    }
+
+    private void replaceCategories(List<ImportLine> written, List<ImportLine> updates) {
+        List<Long> updatedIds = updates.stream().filter(x -> x.id != null).map(x -> x.id).toList();
+        if (!updatedIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_CATEGORIES, updatedIds, updatedIds.size(),
+                    (ps, id) -> ps.setLong(1, id));
+        }
+        List<long[]> rows = new ArrayList<>();
+        for (ImportLine line : written) {
+            Set<Long> categories = new HashSet<>();
+            for (CategoryDTO cat : line.dto.getCategories()) {
+                if (categories.add(cat.getId())) {
+                    rows.add(new long[] {line.id, cat.getId()});
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CATEGORY, rows, rows.size(), (ps, row) -> {
+                ps.setLong(1, row[0]);
+                ps.setLong(2, row[1]);
+            });
+        }
+    }
+
+    private static void setProductValues(PreparedStatement ps, ProductDTO dto, Timestamp now) throws SQLException {
+        ps.setString(1, dto.getName());
+        ps.setString(2, dto.getDescription());
+        ps.setDouble(3, dto.getPrice());
+        ps.setString(4, dto.getImgUrl());
+        ps.setTimestamp(5, now);
+        ps.setString(6, SearchTextUtil.normalize(dto.getName()));
+    }
+
+    private static class ImportLine {
+
+        private final long number;
+        private final ProductDTO dto;
+        private Long id;
+
+        ImportLine(long number, ProductDTO dto) {
+            this.number = number;
+            this.dto = dto;
+        }
+
+        ProductDTO toProductDTO() {
+            ProductDTO product = new ProductDTO(id, dto.getName(), dto.getDescription(), dto.getPrice(), dto.getImgUrl());
+            product.getCategories().addAll(dto.getCategories());
+            return product;
+        }
+    }
+}
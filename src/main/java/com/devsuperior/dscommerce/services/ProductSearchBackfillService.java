@@ -0,0 +1,53 @@
+package com.devsuperior.dscommerce.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.devsuperior.dscommerce.projections.ProductNameProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
+
+/**
+ * Fills tb_product.name_normalized for rows written without it, such as
+ * rows that predate the column or were loaded by plain SQL. Runs in
+ * id-ordered batches on startup and does nothing once every row is filled.
+ */
+@Service
+public class ProductSearchBackfillService {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public long backfill() {
+        long updated = 0;
+        long afterId = 0;
+        List<ProductNameProjection> rows;
+        do {
+            rows = repository.searchNamesToNormalize(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate("UPDATE tb_product SET name_normalized = ? WHERE id = ?", rows, rows.size(),
+                    (ps, row) -> {
+                        ps.setString(1, row.getName() == null ? null : SearchTextUtil.normalize(row.getName()));
+                        ps.setLong(2, row.getId());
+                    });
+            afterId = rows.get(rows.size() - 1).getId();
+            updated += rows.size();
+        }
+        while (rows.size() == BATCH_SIZE);
+        return updated;
+    }
+}
@@ -1,30 +1,107 @@
 package com.devsuperior.dscommerce.services;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devsuperior.dscommerce.config.CacheConfig;
 import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.CategoryFacetDTO;
+import com.devsuperior.dscommerce.dto.CursorPageDTO;
+import com.devsuperior.dscommerce.dto.FacetPageDTO;
 import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.dto.ProductDeleteResultDTO;
+import com.devsuperior.dscommerce.dto.ProductFilterDTO;
+import com.devsuperior.dscommerce.dto.ProductLookupDTO;
 import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.dto.ProductPatchDTO;
+import com.devsuperior.dscommerce.dto.SliceDTO;
+import com.devsuperior.dscommerce.dto.VersionDTO;
+import com.devsuperior.dscommerce.dto.VersionedDTO;
 import com.devsuperior.dscommerce.entities.Category;
 import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.projections.VersionProjection;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
 import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.cache.ProductSearchCache;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
 import com.devsuperior.dscommerce.services.exceptions.DatabaseException;
+import com.devsuperior.dscommerce.services.exceptions.InvalidCursorException;
+import com.devsuperior.dscommerce.services.exceptions.InvalidSearchException;
 import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dscommerce.services.search.CategoryFacetIndex;
+import com.devsuperior.dscommerce.services.search.ProductBits;
+import com.devsuperior.dscommerce.services.search.ProductNameIndex;
+import com.devsuperior.dscommerce.services.search.ProductPriceIndex;
+import com.devsuperior.dscommerce.services.search.ProductSuggestIndex;
+import com.devsuperior.dscommerce.util.CursorUtil;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class ProductService {
 
+    private static final String POPULARITY = "popularity";
+
+    private static final Map<String, Class<?>> CURSOR_KEYS = Map.of(
+            "id", Long.class, "name", String.class, "price", Double.class);
+
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductNameIndex nameIndex;
+
+    @Autowired
+    private CategoryFacetIndex facetIndex;
+
+    @Autowired
+    private ProductPriceIndex priceIndex;
+
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductSearchCache searchCache;
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ProductDTO findById(Long id) {
         Product product = repository.findById(id).orElseThrow(
@@ -33,9 +110,125 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public Page<ProductMinDTO> findAll(String name, Pageable pageable) {
-        Page<Product> result = repository.searchByName(name, pageable);
-        return result.map(x -> new ProductMinDTO(x));
+    public List<ProductLookupDTO> findByIds(List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).toList();
+        Map<Long, ProductDTO> found = repository.findByIdIn(new HashSet<>(requested)).stream()
+                .collect(Collectors.toMap(Product::getId, x -> new ProductDTO(x)));
+        return requested.stream().map(id -> new ProductLookupDTO(id, found.get(id))).toList();
+    }
+
+    /**
+     * The product together with the version of the row it was read from, so
+     * a cached body always carries the ETag of its own content.
+     */
+    @Transactional(readOnly = true)
+    public VersionedDTO<ProductDTO> findVersionedById(Long id) {
+        Product product = repository.findById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Recurso não encontrado"));
+        return new VersionedDTO<>(new ProductDTO(product), version(id, product.getVersion(), product.getUpdatedAt()));
+    }
+
+    @Transactional(readOnly = true)
+    public VersionDTO findVersion(Long id) {
+        VersionProjection version = repository.searchVersionById(id);
+        if (version.getCount() == 0) {
+            throw new ResourceNotFoundException("Recurso não encontrado");
+        }
+        return version(id, version.getVersion(), version.getLastModified());
+    }
+
+    private static VersionDTO version(Long id, Long version, Instant lastModified) {
+        return new VersionDTO("\"product-" + id + "-" + version + "\"", lastModified);
+    }
+
+    /**
+     * Facet counts cover every product matching the name and price range,
+     * regardless of the category filter, so clients can show how many
+     * results each other category would add. Paged results are cached per
+     * normalized filter until the next committed product write.
+     */
+    @Transactional(readOnly = true)
+    public FacetPageDTO<ProductMinDTO> findAll(ProductFilterDTO filter, Pageable request) {
+        Pageable pageable = resolvePopularity(request);
+        if (pageable.isUnpaged()) {
+            return search(filter, pageable);
+        }
+        return searchCache.get(filter, pageable, () -> search(filter, pageable));
+    }
+
+    private FacetPageDTO<ProductMinDTO> search(ProductFilterDTO filter, Pageable pageable) {
+        if (canUseIndexes(filter, pageable)) {
+            List<Long> matches = indexMatches(filter, pageable.getSort());
+            List<CategoryFacetDTO> facets = facetIndex.count(ProductBits.of(matches)).entrySet().stream()
+                    .map(x -> new CategoryFacetDTO(x.getKey(), x.getValue())).toList();
+            List<Long> ids = indexResult(matches, filter, pageable.getSort());
+            return new FacetPageDTO<>(loadPage(ids, pageable), facets);
+        }
+        checkExactFallback(filter);
+        String name = SearchTextUtil.normalize(filter.getName());
+        Page<ProductMinDTO> page = filter.getCategoryIds().isEmpty()
+                ? repository.searchByName(name, filter.getMinPrice(), filter.getMaxPrice(), pageable)
+                : repository.searchByNameAndCategories(name, filter.getCategoryIds(),
+                        filter.getMinPrice(), filter.getMaxPrice(), pageable);
+        return new FacetPageDTO<>(page, repository.countByCategory(name, filter.getMinPrice(), filter.getMaxPrice()));
+    }
+
+    /**
+     * Listing without an exact total: the database fetches one extra row to
+     * tell whether a next slice exists, and the total comes from a short-lived
+     * cache keyed by the filter.
+     */
+    @Transactional(readOnly = true)
+    public SliceDTO<ProductMinDTO> findAllSlice(ProductFilterDTO filter, Pageable request) {
+        Pageable pageable = resolvePopularity(request);
+        if (canUseIndexes(filter, pageable)) {
+            List<Long> ids = indexResult(indexMatches(filter, pageable.getSort()), filter, pageable.getSort());
+            Page<ProductMinDTO> page = loadPage(ids, pageable);
+            return new SliceDTO<>(page, page.getTotalElements());
+        }
+        checkExactFallback(filter);
+        String name = SearchTextUtil.normalize(filter.getName());
+        Slice<ProductMinDTO> slice = filter.getCategoryIds().isEmpty()
+                ? repository.searchSliceByName(name, filter.getMinPrice(), filter.getMaxPrice(), pageable)
+                : repository.searchSliceByNameAndCategories(name, filter.getCategoryIds(),
+                        filter.getMinPrice(), filter.getMaxPrice(), pageable);
+        Long total = cacheManager.getCache(CacheConfig.PRODUCT_COUNTS).get(filter, () -> filter.getCategoryIds().isEmpty()
+                ? repository.countMatching(name, filter.getMinPrice(), filter.getMaxPrice())
+                : repository.countMatchingInCategories(name, filter.getCategoryIds(), filter.getMinPrice(), filter.getMaxPrice()));
+        return new SliceDTO<>(slice, total);
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> suggest(String prefix, int limit) {
+        if (suggestIndex.isReady()) {
+            return suggestIndex.suggest(prefix, limit);
+        }
+        return repository.searchNamesByPrefix(SearchTextUtil.normalize(prefix), PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductMinDTO> findAllAfter(String name, String after, int size, Sort sort) {
+        if (!sort.stream().allMatch(order -> CURSOR_KEYS.containsKey(order.getProperty()))) {
+            throw new InvalidCursorException("Ordenação não suportada para paginação por cursor");
+        }
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        if (!after.isEmpty()) {
+            Map<String, Object> keys = CursorUtil.decode(after, CURSOR_KEYS);
+            Set<String> expected = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+            expected.add("id");
+            if (!keys.keySet().equals(expected)) {
+                throw new InvalidCursorException("Cursor inválido para a ordenação informada");
+            }
+            position = ScrollPosition.forward(keys);
+        }
+        Window<Product> window = repository.findByNameNormalizedContaining(
+                SearchTextUtil.normalize(name), position, sort, Limit.of(size));
+        List<ProductMinDTO> content = window.map(x -> new ProductMinDTO(x)).getContent();
+        String next = null;
+        if (window.hasNext()) {
+            next = CursorUtil.encode(((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys());
+        }
+        return new CursorPageDTO<>(content, window.hasNext(), next);
     }
 
     @Transactional
@@ -43,46 +236,244 @@ public class ProductService {
         Product entity = new Product();
         copyDtoToEntity(dto, entity);
         entity = repository.save(entity);
-        return new ProductDTO(entity);
+        ProductDTO result = new ProductDTO(entity);
+        eventPublisher.publishEvent(new ProductChangedEvent(result.getId(), result));
+        return result;
     }
 
     @Transactional
     public ProductDTO update(Long id, ProductDTO dto) {
         try {
             Product entity = repository.getReferenceById(id);
-            copyDtoToEntity(dto, entity);
-            entity = repository.save(entity);
-            return new ProductDTO(entity);
+            boolean changed = copyDtoToEntity(dto, entity);
+            return save(entity, changed);
         }
         catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException("Recurso não encontrado");
         }
     }
 
+    @Transactional
+    public ProductDTO patch(Long id, ProductPatchDTO dto) {
+        try {
+            Product entity = repository.getReferenceById(id);
+            boolean changed = false;
+            if (dto.getName() != null) {
+                changed |= change(entity.getName(), dto.getName(), entity::setName);
+            }
+            if (dto.getDescription() != null) {
+                changed |= change(entity.getDescription(), dto.getDescription(), entity::setDescription);
+            }
+            if (dto.getPrice() != null) {
+                changed |= change(entity.getPrice(), dto.getPrice(), entity::setPrice);
+            }
+            if (dto.getImgUrl() != null) {
+                changed |= change(entity.getImgUrl(), dto.getImgUrl(), entity::setImgUrl);
+            }
+            if (dto.getCategories() != null) {
+                changed |= updateCategories(entity, dto.getCategories());
+            }
+            return save(entity, changed);
+        }
+        catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException("Recurso não encontrado");
+        }
+    }
+
+    /**
+     * Unchanged products are neither flushed nor announced, so no-op updates
+     * leave the search indexes and caches alone.
+     */
+    private ProductDTO save(Product entity, boolean changed) {
+        entity = repository.save(entity);
+        ProductDTO result = new ProductDTO(entity);
+        if (changed) {
+            eventPublisher.publishEvent(new ProductChangedEvent(entity.getId(), result));
+        }
+        return result;
+    }
+
     @Transactional(propagation = Propagation.SUPPORTS)
     public void delete(Long id) {
     	if (!repository.existsById(id)) {
     		throw new ResourceNotFoundException("Recurso não encontrado");
     	}
     	try {
-            repository.deleteById(id);    		
+            repository.deleteById(id);
+            eventPublisher.publishEvent(new ProductChangedEvent(id, null));
     	}
         catch (DataIntegrityViolationException e) {
             throw new DatabaseException("Falha de integridade referencial");
         }
     }
 
-    private void copyDtoToEntity(ProductDTO dto, Product entity) {
-        entity.setName(dto.getName());
-        entity.setDescription(dto.getDescription());
-        entity.setPrice(dto.getPrice());
-        entity.setImgUrl(dto.getImgUrl());
-        
-        entity.getCategories().clear();
-        for (CategoryDTO catDto : dto.getCategories()) {
-        	Category cat = new Category();
-        	cat.setId(catDto.getId());
-        	entity.getCategories().add(cat);
+    /**
+     * Deletes many products with one existence query, one reference query
+     * and one DELETE per table. Products still referenced by order items are
+     * reported instead of failing the whole request.
+     */
+    @Transactional
+    public List<ProductDeleteResultDTO> deleteAll(List<Long> ids) {
+        Set<Long> requested = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> existing = new HashSet<>(repository.searchExistingIds(requested));
+        Set<Long> referenced = existing.isEmpty() ? Set.of() : new HashSet<>(repository.searchReferencedIds(existing));
+        List<Long> deletable = existing.stream().filter(id -> !referenced.contains(id)).toList();
+        if (!deletable.isEmpty()) {
+            try {
+                repository.deleteCategoryLinks(deletable);
+                repository.deleteByIds(deletable);
+            }
+            catch (DataIntegrityViolationException e) {
+                throw new DatabaseException("Falha de integridade referencial");
+            }
+            for (Long id : deletable) {
+                eventPublisher.publishEvent(new ProductChangedEvent(id, null));
+            }
+        }
+        return requested.stream().map(id -> new ProductDeleteResultDTO(id,
+                !existing.contains(id) ? ProductDeleteResultDTO.Status.NOT_FOUND
+                        : referenced.contains(id) ? ProductDeleteResultDTO.Status.REFERENCED
+                        : ProductDeleteResultDTO.Status.DELETED)).toList();
+    }
+
+    /**
+     * sort=popularity ranks best sellers first, whatever the direction, on
+     * the indexed sold_units column; ties keep a stable id order.
+     */
+    private static Pageable resolvePopularity(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor(POPULARITY) == null) {
+            return pageable;
+        }
+        Sort resolved = Sort.by(sort.stream()
+                .map(order -> POPULARITY.equals(order.getProperty()) ? Sort.Order.desc("soldUnits") : order)
+                .toList());
+        if (resolved.getOrderFor("id") == null) {
+            resolved = resolved.and(Sort.by("id"));
+        }
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), resolved)
+                : Pageable.unpaged(resolved);
+    }
+
+    /**
+     * An empty name matches every product, so it skips the name index: the
+     * price index bitmap already lists every product in id order. Sorting
+     * the whole catalog by name is left to the paged query.
+     */
+    private boolean canUseIndexes(ProductFilterDTO filter, Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (!pageable.isPaged() || !indexesReady()) {
+            return false;
+        }
+        if (matchesAllNames(filter)) {
+            return priceIndex.supports(sort) || sort.stream().allMatch(order -> order.getProperty().equals("id"));
+        }
+        return nameIndex.supports(sort) || priceIndex.supports(sort);
+    }
+
+    private boolean indexesReady() {
+        return nameIndex.isReady() && facetIndex.isReady() && priceIndex.isReady();
+    }
+
+    /**
+     * Fuzzy matching only exists in the name index, so a fuzzy search the
+     * indexes cannot serve is refused rather than silently turned into the
+     * exact LIKE of the SQL fallback. An empty name matches every product
+     * either way.
+     */
+    private void checkExactFallback(ProductFilterDTO filter) {
+        if (!filter.isFuzzy() || matchesAllNames(filter)) {
+            return;
+        }
+        if (!indexesReady()) {
+            throw new ServiceUnavailableException("Busca aproximada indisponível enquanto os índices são carregados");
+        }
+        throw new InvalidSearchException("Busca aproximada exige paginação e ordenação por nome, preço ou id");
+    }
+
+    private static boolean matchesAllNames(ProductFilterDTO filter) {
+        return SearchTextUtil.normalize(filter.getName()).isEmpty();
+    }
+
+    /**
+     * Ids matching the name and price range, in name-index order.
+     */
+    private List<Long> indexMatches(ProductFilterDTO filter, Sort sort) {
+        if (matchesAllNames(filter)) {
+            List<Long> ids = ProductBits.toList(priceIndex.between(filter.getMinPrice(), filter.getMaxPrice()));
+            Sort.Order idOrder = sort.getOrderFor("id");
+            return (idOrder != null && idOrder.isDescending()) ? ids.reversed() : ids;
+        }
+        Sort nameSort = priceIndex.supports(sort) ? Sort.unsorted() : sort;
+        List<Long> ids = filter.isFuzzy()
+                ? nameIndex.searchFuzzy(filter.getName(), nameSort)
+                : nameIndex.search(filter.getName(), nameSort);
+        if (filter.hasPriceRange()) {
+            ids = ProductBits.filter(ids, priceIndex.between(filter.getMinPrice(), filter.getMaxPrice()));
+        }
+        return ids;
+    }
+
+    /**
+     * Applies the category filter and, when asked for, price ordering.
+     */
+    private List<Long> indexResult(List<Long> matches, ProductFilterDTO filter, Sort sort) {
+        List<Long> ids = matches;
+        if (!filter.getCategoryIds().isEmpty()) {
+            ids = ProductBits.filter(ids, facetIndex.anyOf(filter.getCategoryIds()));
+        }
+        if (priceIndex.supports(sort)) {
+            ids = priceIndex.sort(ProductBits.of(ids), sort.iterator().next().getDirection());
+        }
+        return ids;
+    }
+
+    private Page<ProductMinDTO> loadPage(List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+        Map<Long, ProductMinDTO> products = repository.searchMinByIds(pageIds).stream()
+                .collect(Collectors.toMap(ProductMinDTO::getId, Function.identity()));
+        List<ProductMinDTO> content = pageIds.stream().map(products::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
+    private boolean copyDtoToEntity(ProductDTO dto, Product entity) {
+        boolean changed = change(entity.getName(), dto.getName(), entity::setName);
+        changed |= change(entity.getDescription(), dto.getDescription(), entity::setDescription);
+        changed |= change(entity.getPrice(), dto.getPrice(), entity::setPrice);
+        changed |= change(entity.getImgUrl(), dto.getImgUrl(), entity::setImgUrl);
+        changed |= updateCategories(entity, dto.getCategories());
+        return changed;
+    }
+
+    private static <T> boolean change(T current, T requested, Consumer<T> setter) {
+        if (Objects.equals(current, requested)) {
+            return false;
+        }
+        setter.accept(requested);
+        return true;
+    }
+
+    /**
+     * Removes and adds only the categories that differ, so Hibernate deletes
+     * and inserts single rows of tb_product_category instead of recreating
+     * the whole collection.
+     */
+    private boolean updateCategories(Product entity, List<CategoryDTO> categories) {
+        Set<Long> requested = categories.stream().map(CategoryDTO::getId).collect(Collectors.toSet());
+        Set<Long> current = new HashSet<>();
+        boolean changed = entity.getCategories().removeIf(cat -> !requested.contains(cat.getId()));
+        for (Category cat : entity.getCategories()) {
+            current.add(cat.getId());
+        }
+        for (Long categoryId : requested) {
+            if (!current.contains(categoryId)) {
+                entity.getCategories().add(categoryRepository.getReferenceById(categoryId));
+                changed = true;
+            }
         }
+        return changed;
     }
 }
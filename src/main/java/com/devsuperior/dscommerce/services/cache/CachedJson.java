@@ -0,0 +1,36 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import com.devsuperior.dscommerce.dto.VersionDTO;
+
+public class CachedJson {
+
+    private final byte[] json;
+    private final byte[] gzip;
+    private final VersionDTO version;
+
+    public CachedJson(byte[] json, byte[] gzip) {
+        this(json, gzip, null);
+    }
+
+    public CachedJson(byte[] json, byte[] gzip, VersionDTO version) {
+        this.json = json;
+        this.gzip = gzip;
+        this.version = version;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public VersionDTO getVersion() {
+        return version;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+
+/**
+ * Evicts cached catalog entries once a product write has been committed.
+ * Entries are loaded through Cache.get(key, loader), and Caffeine makes an
+ * eviction wait for an in-flight load of the same key, so a row read just
+ * before the commit is removed rather than left behind. Runs after the
+ * search indexes have applied the same event, so a search cached under the
+ * new generation already sees the change.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductSearchCache searchCache;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(CacheConfig.PRODUCTS, event.getId());
+        evict(CacheConfig.PRODUCT_JSON, event.getId());
+        searchCache.invalidate();
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.devsuperior.dscommerce.dto.VersionDTO;
+import com.devsuperior.dscommerce.dto.VersionedDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps already-encoded UTF-8 (and optionally gzip) JSON bodies of hot
+ * catalog responses, so that repeated reads skip Jackson entirely.
+ */
+@Component
+public class JsonResponseCache {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${catalog.cache.json.gzip}")
+    private boolean gzip;
+
+    /**
+     * Loads through Cache.get(key, loader), so concurrent misses of a key
+     * wait for one encoding and an eviction after commit also removes a
+     * body that was being built from the old row.
+     */
+    public CachedJson get(String cacheName, Object key, Supplier<?> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache.get(key, () -> encode(loader.get(), null));
+    }
+
+    /**
+     * Like get, but keeps the version of the row the body was encoded from,
+     * so the response can carry validators that match the cached bytes.
+     */
+    public CachedJson getVersioned(String cacheName, Object key, Supplier<? extends VersionedDTO<?>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache.get(key, () -> {
+            VersionedDTO<?> versioned = loader.get();
+            return encode(versioned.getBody(), versioned.getVersion());
+        });
+    }
+
+    /**
+     * Conditional GET against the representation that would be served: the
+     * gzip body is not byte-identical to the plain one, so it gets its own
+     * strong ETag. Vary is set up front so 304 responses carry it too.
+     */
+    public boolean checkNotModified(WebRequest request, VersionDTO version, String acceptEncoding) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return request.checkNotModified(eTag(version, acceptEncoding), version.getLastModifiedMillis());
+    }
+
+    public String eTag(VersionDTO version, String acceptEncoding) {
+        String eTag = version.getETag();
+        if (gzip && acceptsGzip(acceptEncoding)) {
+            return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+        }
+        return eTag;
+    }
+
+    /**
+     * Between a commit and the eviction of the old body, the version read for
+     * the conditional check is newer than the cached one (and a body loaded
+     * right after a commit can be newer than it), so the validators set by
+     * checkNotModified are replaced by the ones of the bytes actually served.
+     */
+    public ResponseEntity<byte[]> toResponse(CachedJson body, WebRequest request, String acceptEncoding) {
+        VersionDTO version = body.getVersion();
+        if (version != null && request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            HttpServletResponse response = servletRequest.getResponse();
+            response.setHeader(HttpHeaders.ETAG, eTag(version, acceptEncoding));
+            if (version.getLastModified() != null) {
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, version.getLastModifiedMillis());
+            }
+        }
+        return toResponse(body, acceptEncoding);
+    }
+
+    public ResponseEntity<byte[]> toResponse(CachedJson body, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.hasGzip() && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return builder.body(body.getJson());
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip, honouring q-values:
+     * "gzip;q=0" refuses it, and "*" covers it unless gzip is listed.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double quality = quality(params);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            }
+            else if (coding.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        Double quality = (gzipQuality != null) ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                }
+                catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private CachedJson encode(Object value, VersionDTO version) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new CachedJson(json, gzip ? compress(json) : null, version);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Cannot encode response", e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        }
+        return out.toByteArray();
+    }
+}
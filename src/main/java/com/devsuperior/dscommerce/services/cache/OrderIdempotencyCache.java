@@ -0,0 +1,152 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.services.exceptions.ConflictException;
+import com.devsuperior.dscommerce.services.exceptions.UnprocessableEntityException;
+import com.devsuperior.dscommerce.util.CustomUserUtil;
+
+/**
+ * Remembers the outcome of POST /orders per user and Idempotency-Key,
+ * together with a hash of the items ordered with it. The first request
+ * registers a pending attempt and runs; duplicates arriving meanwhile wait
+ * for it up to wait-timeout, and later replays get the stored result
+ * without running again. Reusing a key for another order is rejected.
+ * Pending attempts are kept outside the size-bounded cache, so eviction
+ * cannot let a duplicate run while the first one is still in flight.
+ * Failed attempts are forgotten so the client can retry.
+ */
+@Component
+public class OrderIdempotencyCache {
+
+    @Value("${orders.idempotency.wait-timeout}")
+    private Duration waitTimeout;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CustomUserUtil customUserUtil;
+
+    private final ConcurrentMap<String, Attempt> pending = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String idempotencyKey, OrderDTO order, Supplier<T> action) {
+        String key = customUserUtil.getLoggedUsername() + ":" + idempotencyKey;
+        Attempt attempt = new Attempt(hash(order));
+        Attempt current = claim(key, attempt);
+        if (!current.hash.equals(attempt.hash)) {
+            throw new UnprocessableEntityException("Idempotency-Key já utilizada com outro pedido");
+        }
+        if (current != attempt) {
+            return (T) await(current.result);
+        }
+        try {
+            T result = action.get();
+            attempt.result.complete(result);
+            cache().put(key, attempt);
+            return result;
+        }
+        catch (RuntimeException | Error e) {
+            attempt.result.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            pending.remove(key, attempt);
+        }
+    }
+
+    /**
+     * The attempt running or remembered for the key, or the given one once
+     * registered as pending. Runs atomically per key, and a finished attempt
+     * is cached before it leaves the pending map, so it is always found.
+     */
+    private Attempt claim(String key, Attempt attempt) {
+        Attempt[] current = {attempt};
+        pending.compute(key, (k, running) -> {
+            if (running != null) {
+                current[0] = running;
+                return running;
+            }
+            Attempt done = cache().get(k, Attempt.class);
+            if (done != null) {
+                current[0] = done;
+                return null;
+            }
+            return attempt;
+        });
+        return current[0];
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e) {
+            throw new ConflictException("Pedido com esta Idempotency-Key ainda em processamento");
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Pedido com esta Idempotency-Key ainda em processamento");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Items are the only part of the body an order is placed from.
+     */
+    private static String hash(OrderDTO order) {
+        String items = order.getItems().stream()
+                .map(item -> item.getProductId() + ":" + item.getQuantity())
+                .collect(Collectors.joining(","));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(items.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.ORDER_IDEMPOTENCY);
+    }
+
+    private static class Attempt {
+
+        private final String hash;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Attempt(String hash) {
+            this.hash = hash;
+        }
+    }
+}
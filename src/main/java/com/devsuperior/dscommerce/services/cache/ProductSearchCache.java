@@ -0,0 +1,132 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.FacetPageDTO;
+import com.devsuperior.dscommerce.dto.ProductFilterDTO;
+import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Caches product search pages keyed by the normalized filter and the
+ * pageable. Every key carries the catalog generation, so bumping it on a
+ * write makes all earlier pages unreachable at once; they then age out
+ * through the size and TTL limits.
+ */
+@Component
+public class ProductSearchCache implements MeterBinder {
+
+    private static final int ENTRY_OVERHEAD = 160;
+    private static final int PRODUCT_OVERHEAD = 96;
+    private static final int FACET_OVERHEAD = 48;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ProductFilterDTO filter, Pageable pageable, Supplier<T> loader) {
+        Key key = new Key(generation.get(), normalize(filter), pageable);
+        return (T) cacheManager.getCache(CacheConfig.PRODUCT_SEARCH).get(key, loader::get);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(cacheManager.getCache(CacheConfig.PRODUCT_SEARCH) instanceof CaffeineCache cache)) {
+            return;
+        }
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        Gauge.builder("catalog.search.cache.memory", nativeCache,
+                        x -> x.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated heap used by cached product search pages")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("catalog.search.cache.hit.ratio", nativeCache, x -> x.stats().hitRate())
+                .description("Share of product searches answered from the cache")
+                .register(registry);
+        Gauge.builder("catalog.search.cache.generation", generation, AtomicLong::get)
+                .description("Catalog generation; bumped on every committed product write")
+                .register(registry);
+    }
+
+    /**
+     * Rough heap estimate of a cached page, used as its Caffeine weight.
+     */
+    public static int weigh(Object key, Object value) {
+        long bytes = ENTRY_OVERHEAD;
+        if (key instanceof Key k && k.filter.getName() != null) {
+            bytes += k.filter.getName().length();
+        }
+        if (value instanceof Page<?> page) {
+            for (Object item : page.getContent()) {
+                bytes += PRODUCT_OVERHEAD;
+                if (item instanceof ProductMinDTO product) {
+                    bytes += length(product.getName()) + length(product.getImgUrl());
+                }
+            }
+        }
+        if (value instanceof FacetPageDTO<?> page) {
+            bytes += (long) page.getFacets().size() * FACET_OVERHEAD;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    private static ProductFilterDTO normalize(ProductFilterDTO filter) {
+        return new ProductFilterDTO(SearchTextUtil.normalize(filter.getName()), filter.isFuzzy(),
+                filter.getCategoryIds(), filter.getMinPrice(), filter.getMaxPrice());
+    }
+
+    private static final class Key {
+
+        private final long generation;
+        private final ProductFilterDTO filter;
+        private final Pageable pageable;
+
+        Key(long generation, ProductFilterDTO filter, Pageable pageable) {
+            this.generation = generation;
+            this.filter = filter;
+            this.pageable = pageable;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key that)) return false;
+            return generation == that.generation && filter.equals(that.filter) && pageable.equals(that.pageable);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(generation, filter, pageable);
+        }
+    }
+}
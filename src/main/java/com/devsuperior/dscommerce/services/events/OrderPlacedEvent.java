@@ -0,0 +1,16 @@
+package com.devsuperior.dscommerce.services.events;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+
+public class OrderPlacedEvent {
+
+    private final OrderDTO order;
+
+    public OrderPlacedEvent(OrderDTO order) {
+        this.order = order;
+    }
+
+    public OrderDTO getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class InvalidSearchException extends RuntimeException {
+
+    public InvalidSearchException(String msg) {
+        super(msg);
+    }
+}
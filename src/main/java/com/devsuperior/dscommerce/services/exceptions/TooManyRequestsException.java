@@ -0,0 +1,9 @@
+package com.devsuperior.dscommerce.services.exceptions;
+
+@SuppressWarnings("serial")
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,32 @@
+package com.devsuperior.dscommerce.services.intake;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+
+/**
+ * A validated order waiting in the intake queue, with the client resolved
+ * on the request thread.
+ */
+public class OrderIntakeRequest {
+
+    private final String trackingId;
+    private final Long clientId;
+    private final OrderDTO order;
+
+    public OrderIntakeRequest(String trackingId, Long clientId, OrderDTO order) {
+        this.trackingId = trackingId;
+        this.clientId = clientId;
+        this.order = order;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public OrderDTO getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,258 @@
+package com.devsuperior.dscommerce.services.intake;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderIntakeStatusDTO;
+import com.devsuperior.dscommerce.dto.OrderIntakeStatusDTO.Status;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.services.AuthService;
+import com.devsuperior.dscommerce.services.OrderService;
+import com.devsuperior.dscommerce.services.UserService;
+import com.devsuperior.dscommerce.services.exceptions.DatabaseException;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional asynchronous order intake. Requests are validated on the web
+ * thread and appended to a bounded queue; a pool of writers drains it and
+ * places up to one batch of orders per transaction. A full queue rejects
+ * new orders instead of blocking request threads. Statuses of orders still
+ * in flight are kept in a map the queue already bounds, so they cannot be
+ * evicted while clients poll; only final statuses go to the expiring cache.
+ */
+@Service
+public class OrderIntakeService implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderIntakeService.class);
+    private static final long POLL_MILLIS = 200;
+
+    @Value("${orders.intake.async}")
+    private boolean enabled;
+
+    @Value("${orders.intake.queue-capacity}")
+    private Integer queueCapacity;
+
+    @Value("${orders.intake.writers}")
+    private Integer writers;
+
+    @Value("${orders.intake.batch-size}")
+    private Integer batchSize;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final ConcurrentMap<String, OrderIntakeStatusDTO> inFlight = new ConcurrentHashMap<>();
+
+    private BlockingQueue<OrderIntakeRequest> queue;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        executor = Executors.newFixedThreadPool(writers, Thread.ofPlatform().name("order-intake-", 1).factory());
+        for (int i = 0; i < writers; i++) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Stops taking new batches once the queue is empty, so orders accepted
+     * before shutdown are still written.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            LOG.warn("Order intake stopped with {} queued orders", queue.size());
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public OrderIntakeStatusDTO submit(OrderDTO dto) {
+        User client = userService.authenticated();
+        orderService.validate(dto);
+        OrderIntakeRequest request = new OrderIntakeRequest(UUID.randomUUID().toString(), client.getId(), dto);
+        OrderIntakeStatusDTO status = new OrderIntakeStatusDTO(request.getTrackingId(), Status.QUEUED, null, null, client.getId());
+        inFlight.put(request.getTrackingId(), status);
+        if (!queue.offer(request)) {
+            inFlight.remove(request.getTrackingId());
+            throw new TooManyRequestsException("Muitos pedidos em processamento, tente novamente");
+        }
+        return status;
+    }
+
+    public OrderIntakeStatusDTO findStatus(String trackingId) {
+        OrderIntakeStatusDTO status = inFlight.get(trackingId);
+        if (status == null) {
+            status = statuses().get(trackingId, OrderIntakeStatusDTO.class);
+        }
+        if (status == null) {
+            throw new ResourceNotFoundException("Recurso não encontrado");
+        }
+        authService.validateSelfOrAdmin(status.getClientId());
+        return status;
+    }
+
+    /**
+     * Places the batch in one transaction. If it rolls back, every order is
+     * retried on its own so that one bad order does not fail the others.
+     */
+    void write(List<OrderIntakeRequest> batch) {
+        try {
+            List<OrderDTO> orders = transactionTemplate.execute(tx -> batch.stream().map(this::place).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                created(batch.get(i), orders.get(i));
+            }
+            return;
+        }
+        catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed(batch.get(0), e);
+                return;
+            }
+        }
+        for (OrderIntakeRequest request : batch) {
+            try {
+                created(request, transactionTemplate.execute(tx -> place(request)));
+            }
+            catch (RuntimeException e) {
+                failed(request, e);
+            }
+        }
+    }
+
+    private void drain() {
+        List<OrderIntakeRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OrderIntakeRequest first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (RuntimeException e) {
+                LOG.error("Order intake batch failed", e);
+                for (OrderIntakeRequest request : batch) {
+                    if (inFlight.containsKey(request.getTrackingId())) {
+                        failed(request, e);
+                    }
+                }
+            }
+            finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private OrderDTO place(OrderIntakeRequest request) {
+        return orderService.insert(request.getOrder(), userRepository.getReferenceById(request.getClientId()));
+    }
+
+    private void created(OrderIntakeRequest request, OrderDTO order) {
+        complete(new OrderIntakeStatusDTO(request.getTrackingId(), Status.CREATED,
+                order.getId(), null, request.getClientId()));
+    }
+
+    /**
+     * Only messages written for clients (service exceptions) reach the
+     * status; anything else gets a fixed message and is logged in full.
+     */
+    private void failed(OrderIntakeRequest request, RuntimeException e) {
+        String message;
+        if (e instanceof ResourceNotFoundException || e instanceof DatabaseException) {
+            LOG.warn("Order {} was not placed: {}", request.getTrackingId(), e.getMessage());
+            message = e.getMessage();
+        }
+        else {
+            LOG.error("Order {} was not placed", request.getTrackingId(), e);
+            message = (e instanceof DataIntegrityViolationException)
+                    ? "Falha de integridade referencial"
+                    : "Não foi possível registrar o pedido";
+        }
+        complete(new OrderIntakeStatusDTO(request.getTrackingId(), Status.FAILED,
+                null, message, request.getClientId()));
+    }
+
+    /**
+     * Caches the final status before dropping the in-flight one, so a poll
+     * in between finds either of them.
+     */
+    private void complete(OrderIntakeStatusDTO status) {
+        statuses().put(status.getTrackingId(), status);
+        inFlight.remove(status.getTrackingId());
+    }
+
+    private Cache statuses() {
+        return cacheManager.getCache(CacheConfig.ORDER_INTAKE);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.intake.queue.size", this, x -> x.queue == null ? 0 : x.queue.size())
+                .description("Orders accepted with 202 and not yet written")
+                .register(registry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.projections.ProductCategoryProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+
+/**
+ * One bitmap of product ids per category, kept in memory so that category
+ * filters and facet counts are bitmap operations instead of joins on
+ * tb_product_category.
+ */
+@Component
+public class CategoryFacetIndex {
+
+    @Value("${catalog.search.index.enabled}")
+    private boolean enabled;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BitSet> products = new TreeMap<>();
+    private final List<ProductChangedEvent> missedEvents = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Reloads every membership. Rows are read outside the lock, so changes
+     * that commit meanwhile are buffered and replayed after the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<ProductCategoryProjection> rows = repository.searchProductCategories();
+            lock.writeLock().lock();
+            try {
+                products.clear();
+                for (ProductCategoryProjection row : rows) {
+                    put(row.getProductId(), row.getCategoryId());
+                }
+                missedEvents.forEach(this::apply);
+                ready = true;
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+        finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                missedEvents.clear();
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                missedEvents.add(event);
+            }
+            else if (ready) {
+                apply(event);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Products that belong to at least one of the given categories.
+     */
+    public BitSet anyOf(Collection<Long> categoryIds) {
+        BitSet result = new BitSet();
+        lock.readLock().lock();
+        try {
+            for (Long categoryId : categoryIds) {
+                BitSet set = products.get(categoryId);
+                if (set != null) {
+                    result.or(set);
+                }
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of the given products in each category, skipping empty ones.
+     * Disjoint categories are skipped with intersects; otherwise the smaller
+     * of the two sets is walked and tested against the other, so nothing is
+     * copied per request.
+     */
+    public Map<Long, Long> count(BitSet matches) {
+        Map<Long, Long> result = new TreeMap<>();
+        int matchCount = matches.cardinality();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, BitSet> entry : products.entrySet()) {
+                BitSet set = entry.getValue();
+                if (!set.intersects(matches)) {
+                    continue;
+                }
+                long count = (set.cardinality() <= matchCount) ? countIn(set, matches) : countIn(matches, set);
+                result.put(entry.getKey(), count);
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long countIn(BitSet walked, BitSet tested) {
+        long count = 0;
+        for (int bit = walked.nextSetBit(0); bit >= 0; bit = walked.nextSetBit(bit + 1)) {
+            if (tested.get(bit)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void apply(ProductChangedEvent event) {
+        int bit = ProductBits.bit(event.getId());
+        for (BitSet set : products.values()) {
+            set.clear(bit);
+        }
+        if (!event.isDeleted()) {
+            for (CategoryDTO cat : event.getProduct().getCategories()) {
+                put(event.getId(), cat.getId());
+            }
+        }
+    }
+
+    private void put(Long productId, Long categoryId) {
+        products.computeIfAbsent(categoryId, k -> new BitSet()).set(ProductBits.bit(productId));
+    }
+}
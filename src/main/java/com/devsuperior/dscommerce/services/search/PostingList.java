@@ -0,0 +1,83 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of primitive product ids.
+ */
+class PostingList {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    static long[] intersect(long[] left, PostingList right) {
+        long[] result = new long[Math.min(left.length, right.size)];
+        int i = 0, j = 0, n = 0;
+        while (i < left.length && j < right.size) {
+            if (left[i] < right.ids[j]) {
+                i++;
+            }
+            else if (left[i] > right.ids[j]) {
+                j++;
+            }
+            else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Helpers for product id bitmaps shared by the in-memory indexes.
+ */
+public final class ProductBits {
+
+    private ProductBits() {
+    }
+
+    public static BitSet of(Collection<Long> productIds) {
+        BitSet result = new BitSet();
+        for (Long id : productIds) {
+            result.set(bit(id));
+        }
+        return result;
+    }
+
+    public static List<Long> toList(BitSet set) {
+        return set.stream().mapToObj(Long::valueOf).toList();
+    }
+
+    public static boolean contains(BitSet set, Long productId) {
+        return set.get(bit(productId));
+    }
+
+    public static List<Long> filter(List<Long> productIds, BitSet set) {
+        return productIds.stream().filter(id -> contains(set, id)).toList();
+    }
+
+    static int bit(Long productId) {
+        return Math.toIntExact(productId);
+    }
+}
@@ -0,0 +1,309 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscommerce.projections.ProductNameProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
+
+/**
+ * Trigram inverted index over product names, kept in memory so that
+ * name searches do not need a LIKE '%name%' scan on tb_product.
+ */
+@Component
+public class ProductNameIndex {
+
+    private static final int GRAM_SIZE = 3;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "name");
+
+    @Value("${catalog.search.index.enabled}")
+    private boolean enabled;
+
+    @Value("${catalog.search.fuzzy.max-candidates}")
+    private int maxFuzzyCandidates;
+
+    @Value("${catalog.search.fuzzy.min-similarity}")
+    private double minFuzzySimilarity;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, String> normalizedNames = new HashMap<>();
+    private final Map<Long, Integer> gramCounts = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final PostingList allIds = new PostingList();
+    private final List<ProductChangedEvent> missedEvents = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Reloads every name. Rows are read outside the lock, so changes that
+     * commit meanwhile are buffered and replayed in order after the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<ProductNameProjection> rows = repository.searchProductNames();
+            lock.writeLock().lock();
+            try {
+                names.clear();
+                normalizedNames.clear();
+                gramCounts.clear();
+                postings.clear();
+                allIds.clear();
+                for (ProductNameProjection row : rows) {
+                    put(row.getId(), row.getName());
+                }
+                missedEvents.forEach(this::apply);
+                ready = true;
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+        finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                missedEvents.clear();
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                missedEvents.add(event);
+            }
+            else if (ready) {
+                apply(event);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    public List<Long> search(String name, Sort sort) {
+        String term = SearchTextUtil.normalize(name);
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>();
+            for (long id : candidates(term)) {
+                if (normalizedNames.get(id).contains(term)) {
+                    result.add(id);
+                }
+            }
+            if (sort.isSorted()) {
+                result.sort(comparator(sort));
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Typo-tolerant search, ranked by the share of the term's trigrams found
+     * in each name, ties going to shorter names. A name reaching the minimum
+     * similarity holds enough trigrams to appear in one of the rarest lists,
+     * so only those are walked for candidates, stopping at maxFuzzyCandidates.
+     * Each candidate is then scored by a binary search in every list, so a
+     * common gram costs one lookup per candidate instead of a full walk.
+     */
+    public List<Long> searchFuzzy(String name, Sort sort) {
+        String term = SearchTextUtil.normalize(name);
+        if (term.length() < GRAM_SIZE) {
+            return search(name, sort);
+        }
+        long[] grams = distinctGrams(term);
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            int needed = Math.max(1, (int) Math.ceil(minFuzzySimilarity * grams.length - 1e-9));
+            Set<Long> candidates = new LinkedHashSet<>();
+            for (int i = 0; i <= lists.size() - needed && candidates.size() < maxFuzzyCandidates; i++) {
+                PostingList list = lists.get(i);
+                for (int j = 0; j < list.size() && candidates.size() < maxFuzzyCandidates; j++) {
+                    candidates.add(list.get(j));
+                }
+            }
+            Map<Long, Double> scores = new HashMap<>();
+            for (Long id : candidates) {
+                int count = 0;
+                for (PostingList list : lists) {
+                    if (list.contains(id)) {
+                        count++;
+                    }
+                }
+                double similarity = (double) count / grams.length;
+                if (similarity >= minFuzzySimilarity) {
+                    scores.put(id, similarity);
+                }
+            }
+            List<Long> result = new ArrayList<>(scores.keySet());
+            if (sort.isSorted()) {
+                result.sort(comparator(sort));
+            }
+            else {
+                result.sort(Comparator.<Long, Double>comparing(scores::get).reversed()
+                        .thenComparing(gramCounts::get)
+                        .thenComparing(Comparator.naturalOrder()));
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] candidates(String term) {
+        if (term.length() < GRAM_SIZE) {
+            return allIds.toArray();
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_SIZE <= term.length(); i++) {
+            PostingList list = postings.get(gram(term, i));
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = PostingList.intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private Comparator<Long> comparator(Sort sort) {
+        Comparator<Long> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<Long> next = order.getProperty().equals("name")
+                    ? Comparator.comparing(names::get)
+                    : Comparator.naturalOrder();
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = (result == null) ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private void apply(ProductChangedEvent event) {
+        remove(event.getId());
+        if (!event.isDeleted()) {
+            put(event.getId(), event.getProduct().getName());
+        }
+    }
+
+    private void put(Long id, String name) {
+        if (name == null) {
+            return;
+        }
+        String normalized = SearchTextUtil.normalize(name);
+        names.put(id, name);
+        normalizedNames.put(id, normalized);
+        gramCounts.put(id, Math.max(1, distinctGrams(normalized).length));
+        allIds.add(id);
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            postings.computeIfAbsent(gram(normalized, i), k -> new PostingList()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        String normalized = normalizedNames.remove(id);
+        if (normalized == null) {
+            return;
+        }
+        names.remove(id);
+        gramCounts.remove(id);
+        allIds.remove(id);
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            long key = gram(normalized, i);
+            PostingList list = postings.get(key);
+            if (list != null) {
+                list.remove(id);
+                if (list.size() == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private static long[] distinctGrams(String term) {
+        if (term.length() < GRAM_SIZE) {
+            return new long[0];
+        }
+        long[] grams = new long[term.length() - GRAM_SIZE + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(term, i);
+        }
+        Arrays.sort(grams);
+        int n = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[n++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, n);
+    }
+
+    private static long gram(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+}
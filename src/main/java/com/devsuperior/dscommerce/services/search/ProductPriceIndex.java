@@ -0,0 +1,242 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscommerce.projections.ProductPriceProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+
+/**
+ * Product ids ordered by (price, id) in parallel primitive arrays, so price
+ * ranges and price-ordered pages are binary searches and array walks.
+ * A missing price is stored as NaN, which sorts last and matches no range.
+ */
+@Component
+public class ProductPriceIndex {
+
+    @Value("${catalog.search.index.enabled}")
+    private boolean enabled;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Double> priceById = new HashMap<>();
+    private double[] prices = new double[16];
+    private long[] ids = new long[16];
+    private int size;
+    private final List<ProductChangedEvent> missedEvents = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Reloads every price. Rows are read outside the lock, so changes that
+     * commit meanwhile are buffered and replayed after the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<ProductPriceProjection> rows = repository.searchProductPrices();
+            lock.writeLock().lock();
+            try {
+                priceById.clear();
+                size = 0;
+                for (ProductPriceProjection row : rows) {
+                    put(row.getId(), row.getPrice());
+                }
+                missedEvents.forEach(this::apply);
+                ready = true;
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+        finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                missedEvents.clear();
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                missedEvents.add(event);
+            }
+            else if (ready) {
+                apply(event);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean supports(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && orders.get(0).getProperty().equals("price");
+    }
+
+    /**
+     * Products priced within [minPrice, maxPrice]; a null bound is open.
+     * Products without a price sort last and only match when no bound is
+     * set, like the SQL listing without a price filter.
+     */
+    public BitSet between(Double minPrice, Double maxPrice) {
+        lock.readLock().lock();
+        try {
+            int from = (minPrice == null) ? 0 : insertionPoint(minPrice, Long.MIN_VALUE);
+            int to = (minPrice == null && maxPrice == null) ? size
+                    : insertionPoint((maxPrice == null) ? Double.POSITIVE_INFINITY : maxPrice, Long.MAX_VALUE);
+            BitSet result = new BitSet();
+            for (int i = from; i < to; i++) {
+                result.set(ProductBits.bit(ids[i]));
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The given products ordered by price, ties broken by id. Few matches
+     * are sorted by looking up their prices, in O(k log k); when they cover
+     * a large share of the catalog, one walk of the sorted arrays is cheaper.
+     */
+    public List<Long> sort(BitSet matches, Sort.Direction direction) {
+        lock.readLock().lock();
+        try {
+            int count = matches.cardinality();
+            if ((long) count * (Integer.SIZE - Integer.numberOfLeadingZeros(count)) < size) {
+                return sortByLookup(matches, direction);
+            }
+            List<Long> result = new ArrayList<>(count);
+            if (direction.isAscending()) {
+                for (int i = 0; i < size; i++) {
+                    addIfMatches(result, matches, ids[i]);
+                }
+            }
+            else {
+                for (int i = size - 1; i >= 0; i--) {
+                    addIfMatches(result, matches, ids[i]);
+                }
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> sortByLookup(BitSet matches, Sort.Direction direction) {
+        List<Long> result = new ArrayList<>(matches.cardinality());
+        matches.stream().mapToObj(Long::valueOf).filter(priceById::containsKey).forEach(result::add);
+        Comparator<Long> comparator = (id1, id2) -> compare(priceById.get(id1), id1, priceById.get(id2), id2);
+        result.sort(direction.isAscending() ? comparator : comparator.reversed());
+        return result;
+    }
+
+    private static void addIfMatches(List<Long> result, BitSet matches, long id) {
+        if (matches.get(ProductBits.bit(id))) {
+            result.add(id);
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        remove(event.getId());
+        if (!event.isDeleted()) {
+            put(event.getId(), event.getProduct().getPrice());
+        }
+    }
+
+    private void put(Long id, Double price) {
+        double value = (price == null) ? Double.NaN : price;
+        priceById.put(id, value);
+        int pos = (size > 0 && compare(prices[size - 1], ids[size - 1], value, id) < 0)
+                ? size
+                : insertionPoint(value, id);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            prices = Arrays.copyOf(prices, size * 2);
+        }
+        System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+        System.arraycopy(prices, pos, prices, pos + 1, size - pos);
+        ids[pos] = id;
+        prices[pos] = value;
+        size++;
+    }
+
+    private void remove(Long id) {
+        Double value = priceById.remove(id);
+        if (value == null) {
+            return;
+        }
+        int pos = insertionPoint(value, id);
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        System.arraycopy(prices, pos + 1, prices, pos, size - pos - 1);
+        size--;
+    }
+
+    /**
+     * First position whose (price, id) is not less than the given pair.
+     */
+    private int insertionPoint(double price, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(prices[mid], ids[mid], price, id) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(double price1, long id1, double price2, long id2) {
+        int result = Double.compare(price1, price2);
+        return (result != 0) ? result : Long.compare(id1, id2);
+    }
+}
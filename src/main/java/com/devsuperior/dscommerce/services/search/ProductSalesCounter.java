@@ -0,0 +1,94 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.services.events.OrderPlacedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Counts units sold per product in memory as orders commit and adds the
+ * pending deltas to tb_product.sold_units on a fixed delay, so that
+ * sort=popularity reads an indexed column instead of aggregating order
+ * items. Committed deltas are also passed to the suggestion index, which
+ * ranks names by units sold.
+ */
+@Component
+public class ProductSalesCounter {
+
+    private static final String ADD_SOLD_UNITS = "UPDATE tb_product SET sold_units = sold_units + ? WHERE id = ?";
+
+    private final Map<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductSuggestIndex suggestIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        for (OrderItemDTO item : event.getOrder().getItems()) {
+            record(item.getProductId(), item.getQuantity());
+        }
+    }
+
+    public void record(Long productId, long quantity) {
+        pending.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(quantity);
+    }
+
+    public long pending(Long productId) {
+        AtomicLong counter = pending.get(productId);
+        return counter == null ? 0L : counter.get();
+    }
+
+    /**
+     * Drains every counter and writes the deltas in one JDBC batch inside a
+     * transaction. A failing batch rolls back every row before the deltas
+     * are put back, so no sale is lost or counted twice.
+     */
+    @Scheduled(fixedDelayString = "${catalog.popularity.flush-interval}")
+    @PreDestroy
+    public int flush() {
+        List<long[]> deltas = new ArrayList<>();
+        pending.forEach((productId, counter) -> {
+            long units = counter.getAndSet(0);
+            if (units != 0) {
+                deltas.add(new long[] {productId, units});
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate(ADD_SOLD_UNITS, deltas, deltas.size(), (ps, delta) -> {
+                        ps.setLong(1, delta[1]);
+                        ps.setLong(2, delta[0]);
+                    }));
+        }
+        catch (DataAccessException | TransactionException e) {
+            deltas.forEach(delta -> record(delta[0], delta[1]));
+            throw e;
+        }
+        deltas.forEach(delta -> suggestIndex.addSoldUnits(delta[0], delta[1]));
+        return deltas.size();
+    }
+}
@@ -0,0 +1,338 @@
+package com.devsuperior.dscommerce.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.devsuperior.dscommerce.projections.ProductSuggestionProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
+
+/**
+ * Trie of normalized product names for prefix suggestions, best sellers
+ * first. Every node keeps the top names of its subtree ranked by units
+ * sold, then alphabetically, so a lookup walks the prefix and copies at
+ * most MAX_SUGGESTIONS names. A write re-ranks only the nodes on the path
+ * of the name it touches. Names that normalize alike share a node, which
+ * adds up their sales and shows the alphabetically first spelling still
+ * in use.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::soldUnits).reversed()
+            .thenComparing(Suggestion::name);
+
+    @Value("${catalog.search.index.enabled}")
+    private boolean enabled;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, Long> soldUnits = new HashMap<>();
+    private Node root = new Node();
+    private final List<ProductChangedEvent> missedEvents = new ArrayList<>();
+    private final Map<Long, Long> missedSales = new HashMap<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Reloads every name and its units sold. Rows are read outside the
+     * lock, so changes that commit meanwhile are buffered and replayed after
+     * the swap. Ranking is computed once for the whole trie.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<ProductSuggestionProjection> rows = repository.searchProductSuggestions();
+            lock.writeLock().lock();
+            try {
+                names.clear();
+                soldUnits.clear();
+                root = new Node();
+                for (ProductSuggestionProjection row : rows) {
+                    put(row.getId(), row.getName(), (row.getSoldUnits() == null) ? 0L : row.getSoldUnits(), false);
+                }
+                rankAll(root);
+                missedEvents.forEach(this::apply);
+                missedSales.forEach(this::addSales);
+                ready = true;
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+        finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                missedEvents.clear();
+                missedSales.clear();
+            }
+            finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                missedEvents.add(event);
+            }
+            else if (ready) {
+                apply(event);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Units whose deltas were just committed to tb_product.sold_units by
+     * ProductSalesCounter.
+     */
+    public void addSoldUnits(Long productId, long units) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                missedSales.merge(productId, units, Long::sum);
+            }
+            else if (ready) {
+                addSales(productId, units);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Up to limit (at most MAX_SUGGESTIONS) distinct product names starting
+     * with the prefix, ignoring case, best sellers first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String term = SearchTextUtil.normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < term.length() && node != null; i++) {
+                node = node.child(term.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int count = Math.min(limit, node.top.length);
+            List<String> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(node.top[i].name());
+            }
+            return result;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        long units = remove(event.getId());
+        if (!event.isDeleted()) {
+            put(event.getId(), event.getProduct().getName(), units, true);
+        }
+    }
+
+    private void put(Long id, String name, long units, boolean rank) {
+        if (name == null) {
+            return;
+        }
+        names.put(id, name);
+        soldUnits.put(id, units);
+        update(root, SearchTextUtil.normalize(name), 0, rank, node -> node.addSpelling(name, units));
+    }
+
+    /**
+     * Removes the product and returns its units sold, so an update keeps them.
+     */
+    private long remove(Long id) {
+        String name = names.remove(id);
+        Long units = soldUnits.remove(id);
+        long removed = (units == null) ? 0L : units;
+        if (name != null) {
+            update(root, SearchTextUtil.normalize(name), 0, true, node -> node.removeSpelling(name, removed));
+        }
+        return removed;
+    }
+
+    private void addSales(Long id, long units) {
+        String name = names.get(id);
+        if (name == null) {
+            return;
+        }
+        soldUnits.merge(id, units, Long::sum);
+        update(root, SearchTextUtil.normalize(name), 0, true, node -> node.soldUnits += units);
+    }
+
+    /**
+     * Applies the change to the node of the normalized name, then prunes
+     * nodes left empty and, unless bulk loading, re-ranks every node on the
+     * way back up. Returns whether the given node is now empty.
+     */
+    private static boolean update(Node node, String normalized, int depth, boolean rank, Consumer<Node> change) {
+        if (depth == normalized.length()) {
+            change.accept(node);
+        }
+        else {
+            char c = normalized.charAt(depth);
+            if (update(node.getOrAddChild(c), normalized, depth + 1, rank, change)) {
+                node.removeChild(c);
+            }
+        }
+        if (rank) {
+            node.rank();
+        }
+        return node.refs == 0 && node.size == 0;
+    }
+
+    private static void rankAll(Node node) {
+        for (int i = 0; i < node.size; i++) {
+            rankAll(node.children[i]);
+        }
+        node.rank();
+    }
+
+    private record Suggestion(String name, long soldUnits) {
+    }
+
+    private static class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private String name;
+        private int refs;
+        private TreeMap<String, Integer> spellings;
+        private long soldUnits;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        void addSpelling(String spelling, long units) {
+            if (spellings == null) {
+                spellings = new TreeMap<>();
+            }
+            spellings.merge(spelling, 1, Integer::sum);
+            refs++;
+            soldUnits += units;
+            name = spellings.firstKey();
+        }
+
+        void removeSpelling(String spelling, long units) {
+            spellings.computeIfPresent(spelling, (k, v) -> (v == 1) ? null : v - 1);
+            refs--;
+            soldUnits -= units;
+            if (spellings.isEmpty()) {
+                spellings = null;
+                name = null;
+            }
+            else {
+                name = spellings.firstKey();
+            }
+        }
+
+        /**
+         * Merges this node's own name with the top lists of its children. A
+         * nameless node with a single child shares the child's array, so long
+         * unbranched paths cost no extra lists.
+         */
+        void rank() {
+            if (name == null && size == 1) {
+                top = children[0].top;
+                return;
+            }
+            List<Suggestion> candidates = new ArrayList<>();
+            if (name != null) {
+                candidates.add(new Suggestion(name, soldUnits));
+            }
+            for (int i = 0; i < size; i++) {
+                candidates.addAll(Arrays.asList(children[i].top));
+            }
+            candidates.sort(RANKING);
+            top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+
+        Node child(char c) {
+            int pos = Arrays.binarySearch(keys, 0, size, c);
+            return (pos >= 0) ? children[pos] : null;
+        }
+
+        Node getOrAddChild(char c) {
+            int pos = Arrays.binarySearch(keys, 0, size, c);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            int insertAt = -pos - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            keys[insertAt] = c;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int pos = Arrays.binarySearch(keys, 0, size, c);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(children, pos + 1, children, pos, size - pos - 1);
+            children[--size] = null;
+        }
+    }
+}
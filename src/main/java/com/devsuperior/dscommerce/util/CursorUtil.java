@@ -0,0 +1,78 @@
+package com.devsuperior.dscommerce.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.devsuperior.dscommerce.services.exceptions.InvalidCursorException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe tokens.
+ */
+public class CursorUtil {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private CursorUtil() {
+    }
+
+    public static String encode(Map<String, ?> keys) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        keys.forEach((key, value) -> values.put(key, (value instanceof Instant) ? value.toString() : value));
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(values);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        }
+        catch (Exception e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    public static Map<String, Object> decode(String token, Map<String, Class<?>> types) {
+        Map<String, Object> raw;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            raw = MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+        }
+        catch (Exception e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : raw.entrySet()) {
+            Class<?> type = types.get(entry.getKey());
+            if (type == null) {
+                throw new InvalidCursorException("Cursor inválido");
+            }
+            keys.put(entry.getKey(), coerce(entry.getValue(), type));
+        }
+        return keys;
+    }
+
+    private static Object coerce(Object value, Class<?> type) {
+        try {
+            if (value == null) {
+                return null;
+            }
+            if (type == String.class) {
+                return (String) value;
+            }
+            if (type == Long.class) {
+                return ((Number) value).longValue();
+            }
+            if (type == Double.class) {
+                return ((Number) value).doubleValue();
+            }
+            if (type == Instant.class) {
+                return Instant.parse((String) value);
+            }
+        }
+        catch (RuntimeException e) {
+            throw new InvalidCursorException("Cursor inválido");
+        }
+        throw new InvalidCursorException("Cursor inválido");
+    }
+}
@@ -0,0 +1,24 @@
+package com.devsuperior.dscommerce.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normal form used to match product names: accents stripped, upper case.
+ */
+public class SearchTextUtil {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchTextUtil() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+}
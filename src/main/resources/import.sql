@@ -65,9 +65,11 @@ INSERT INTO tb_user_role (user_id, role_id) VALUES (1, 1);
 INSERT INTO tb_user_role (user_id, role_id) VALUES (2, 1);
 INSERT INTO tb_user_role (user_id, role_id) VALUES (2, 2);
 
-INSERT INTO tb_order (moment, status, client_id) VALUES (TIMESTAMP WITH TIME ZONE '2022-07-25T13:00:00Z', 1, 1);
-INSERT INTO tb_order (moment, status, client_id) VALUES (TIMESTAMP WITH TIME ZONE '2022-07-29T15:50:00Z', 3, 2);
-INSERT INTO tb_order (moment, status, client_id) VALUES (TIMESTAMP WITH TIME ZONE '2022-08-03T14:20:00Z', 0, 1);
+INSERT INTO tb_order (id, moment, status, client_id) VALUES (1, TIMESTAMP WITH TIME ZONE '2022-07-25T13:00:00Z', 1, 1);
+INSERT INTO tb_order (id, moment, status, client_id) VALUES (2, TIMESTAMP WITH TIME ZONE '2022-07-29T15:50:00Z', 3, 2);
+INSERT INTO tb_order (id, moment, status, client_id) VALUES (3, TIMESTAMP WITH TIME ZONE '2022-08-03T14:20:00Z', 0, 1);
+
+ALTER SEQUENCE tb_order_seq RESTART WITH 4;
 
 INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (1, 1, 2, 90.5);
 INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (1, 3, 1, 1250.0);
@@ -76,3 +78,5 @@ INSERT INTO tb_order_item (order_id, product_id, quantity, price) VALUES (3, 1,
 
 INSERT INTO tb_payment (order_id, moment) VALUES (1, TIMESTAMP WITH TIME ZONE '2022-07-25T15:00:00Z');
 INSERT INTO tb_payment (order_id, moment) VALUES (2, TIMESTAMP WITH TIME ZONE '2022-07-30T11:00:00Z');
+
+UPDATE tb_product SET sold_units = (SELECT COALESCE(SUM(oi.quantity), 0) FROM tb_order_item oi WHERE oi.product_id = tb_product.id);
@@ -0,0 +1,164 @@
+package com.devsuperior.dscommerce;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Falha o build quando um endpoint passa a executar mais comandos SQL
+ * do que o esperado (por exemplo, por causa de um N+1).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.devsuperior.dscommerce.SqlStatementCountTests$WriteRecorder"})
+@AutoConfigureMockMvc
+class SqlStatementCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findProductByIdShouldNotExceedExpectedStatements() throws Exception {
+        assertStatements(2, get("/products/{id}", 1L));
+    }
+
+    @Test
+    void findAllProductsShouldNotExceedExpectedStatements() throws Exception {
+        assertStatements(2, get("/products"));
+    }
+
+    @Test
+    void findProductsByIdsShouldNotExceedExpectedStatements() throws Exception {
+        assertStatements(1, get("/products").param("ids", "1,2,3,4,5,99"));
+    }
+
+    @Test
+    void findAllCategoriesShouldNotExceedExpectedStatements() throws Exception {
+        assertStatements(2, get("/categories"));
+    }
+
+    @Test
+    void findOrderByIdShouldNotExceedExpectedStatements() throws Exception {
+        assertStatements(3, get("/orders/{id}", 1L).with(jwt()
+                .jwt(token -> token.claim("username", "maria@gmail.com"))
+                .authorities(new SimpleGrantedAuthority("ROLE_CLIENT"))));
+    }
+
+    @Test
+    void findAllOrdersShouldNotExceedExpectedStatements() throws Exception {
+        assertStatements(2, get("/orders").with(jwt()
+                .jwt(token -> token.claim("username", "alex@gmail.com"))
+                .authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @Test
+    void insertOrderShouldLoadProductsOnceAndBatchItems() throws Exception {
+        assertStatements(5, post("/orders").with(jwt()
+                .jwt(token -> token.claim("username", "maria@gmail.com"))
+                .authorities(new SimpleGrantedAuthority("ROLE_CLIENT")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"productId\":1,\"quantity\":1},{\"productId\":2,\"quantity\":1},{\"productId\":3,\"quantity\":2}]}"),
+                status().isCreated());
+    }
+
+    @Test
+    void updateProductWithSameDataShouldNotWrite() throws Exception {
+        String product = mockMvc.perform(get("/products/{id}", 1L)).andReturn().getResponse().getContentAsString();
+
+        assertEquals(List.of(), recordWrites(updateProduct(1L, product)));
+    }
+
+    @Test
+    void updateProductWithOneMoreCategoryShouldWriteOneJoinTableRow() throws Exception {
+        String product = mockMvc.perform(get("/products/{id}", 1L)).andReturn().getResponse().getContentAsString();
+        String changed = product.replace("\"categories\":[", "\"categories\":[{\"id\":2},");
+        try {
+            List<String> writes = recordWrites(updateProduct(1L, changed));
+
+            assertEquals(1, writes.stream().filter(sql -> sql.contains("tb_product_category")).count());
+        }
+        finally {
+            mockMvc.perform(updateProduct(1L, product)).andExpect(status().isOk());
+        }
+    }
+
+    private MockHttpServletRequestBuilder updateProduct(Long id, String json) {
+        return put("/products/{id}", id).with(jwt()
+                .jwt(token -> token.claim("username", "alex@gmail.com"))
+                .authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+    }
+
+    private List<String> recordWrites(MockHttpServletRequestBuilder request) throws Exception {
+        WriteRecorder.WRITES.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return List.copyOf(WriteRecorder.WRITES);
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        assertStatements(expected, request, status().isOk());
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request, ResultMatcher result) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(result);
+        long actual = statistics.getPrepareStatementCount();
+        assertTrue(actual <= expected, "Expected at most " + expected + " SQL statements but got " + actual);
+    }
+
+    /**
+     * Guarda os comandos INSERT, UPDATE e DELETE preparados pelo Hibernate.
+     */
+    public static class WriteRecorder implements StatementInspector {
+
+        static final List<String> WRITES = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            String command = sql.stripLeading().toLowerCase();
+            if (command.startsWith("insert") || command.startsWith("update") || command.startsWith("delete")) {
+                WRITES.add(command);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.OrderService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mede a latência de criação de pedidos conforme o número de itens,
+ * carregando os produtos um a um por proxy (antes) e com uma única
+ * consulta IN (depois).
+ * Não roda no build padrão; executar com:
+ * mvn test -Dtest=OrderPlacementBenchmark -Dbenchmark.lines=1,10,50,100
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=1"})
+class OrderPlacementBenchmark {
+
+    private static final int PRODUCTS = 200;
+    private static final int ITERATIONS = 30;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Jwt jwt = Jwt.withTokenValue("benchmark").header("alg", "none").claim("username", "maria@gmail.com").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        insertProducts();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareProxyAndBatchedProductLoading() {
+        for (String lines : System.getProperty("benchmark.lines", "1,10,50,100").split(",")) {
+            List<Long> ids = productIds(Integer.parseInt(lines.trim()));
+            OrderDTO order = order(ids);
+
+            long proxies = measure(() -> transactionTemplate.execute(status -> {
+                double total = 0;
+                for (Long id : ids) {
+                    total += productRepository.getReferenceById(id).getPrice();
+                }
+                return total;
+            }));
+            long proxyStatements = statements(() -> transactionTemplate.execute(status -> {
+                ids.forEach(id -> productRepository.getReferenceById(id).getPrice());
+                return null;
+            }));
+            long batched = measure(() -> transactionTemplate.execute(status -> productRepository.findAllById(ids).size()));
+            long insert = measure(() -> orderService.insert(order));
+            long insertStatements = statements(() -> orderService.insert(order));
+
+            System.out.printf("lines=%s load(proxies)=%dus/%d stmts load(batched)=%dus insert=%dus/%d stmts%n",
+                    lines.trim(), proxies, proxyStatements, batched, insert, insertStatements);
+        }
+    }
+
+    private void insertProducts() {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            batch.add(new Object[] {"Produto " + i, "PRODUTO " + i, 10.0 + i, "Lorem ipsum dolor", ""});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product (name, name_normalized, price, description, img_url) VALUES (?, ?, ?, ?, ?)", batch);
+    }
+
+    private List<Long> productIds(int lines) {
+        return jdbcTemplate.queryForList("SELECT id FROM tb_product ORDER BY id DESC LIMIT ?", Long.class, lines);
+    }
+
+    private static OrderDTO order(List<Long> ids) {
+        OrderDTO order = new OrderDTO(null, null, null, null, null);
+        for (Long id : ids) {
+            order.getItems().add(new OrderItemDTO(id, null, null, 1, null));
+        }
+        return order;
+    }
+
+    private long statements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static long measure(Runnable action) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,87 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede os bytes alocados no heap por requisição de listagem, carregando
+ * entidades Product (antes) e projetando direto em ProductMinDTO (depois).
+ * Não roda no build padrão; executar com:
+ * mvn test -Dtest=ProductListingAllocationBenchmark
+ */
+@SpringBootTest
+class ProductListingAllocationBenchmark {
+
+    private static final int PRODUCTS = 2000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareEntityAndProjectionListing() {
+        insertProducts();
+        Pageable pageable = PageRequest.of(0, 20);
+
+        long entities = allocatedPerRequest(() -> transactionTemplate.execute(status -> {
+            List<Product> result = entityManager.createQuery(
+                    "SELECT obj FROM Product obj WHERE obj.nameNormalized LIKE CONCAT('%', :name, '%')", Product.class)
+                    .setParameter("name", "PRODUTO")
+                    .setFirstResult(0)
+                    .setMaxResults(pageable.getPageSize())
+                    .getResultList();
+            entityManager.createQuery(
+                    "SELECT COUNT(obj) FROM Product obj WHERE obj.nameNormalized LIKE CONCAT('%', :name, '%')", Long.class)
+                    .setParameter("name", "PRODUTO")
+                    .getSingleResult();
+            return result.stream().map(x -> new ProductMinDTO(x)).toList();
+        }));
+        long projection = allocatedPerRequest(() -> transactionTemplate.execute(
+                status -> repository.searchByName("PRODUTO", null, null, pageable).getContent()));
+
+        System.out.printf("bytes/request entity=%d projection=%d%n", entities, projection);
+    }
+
+    private void insertProducts() {
+        String description = "Lorem ipsum dolor sit amet ".repeat(150);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            batch.add(new Object[] {"Produto " + i, "PRODUTO " + i, 10.0 + i, description, "https://example.com/" + i + ".jpg"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product (name, name_normalized, price, description, img_url) VALUES (?, ?, ?, ?, ?)", batch);
+    }
+
+    private static long allocatedPerRequest(Runnable request) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+}
@@ -0,0 +1,111 @@
+package com.devsuperior.dscommerce.benchmarks;
+
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.search.ProductNameIndex;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara a busca por nome via JPQL LIKE com o índice em memória,
+ * exata e tolerante a erros de digitação.
+ * Não roda no build padrão; executar com:
+ * mvn test -Dtest=ProductSearchBenchmark -Dbenchmark.sizes=10000,100000,1000000
+ */
+@SpringBootTest
+class ProductSearchBenchmark {
+
+    private static final String[] WORDS = {"Console", "Smart", "TV", "Notebook", "Gamer", "Pro", "Mouse",
+            "Teclado", "Monitor", "Cadeira", "Livro", "Fone", "Bluetooth", "Ultra", "Mini", "Max"};
+    private static final String[] TERMS = {"gamer", "tv", "ultra mon", "bluetooth fone"};
+    private static final String[] TYPOS = {"gamr", "notbook", "ultra monitr", "bluetoth fone"};
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private ProductNameIndex nameIndex;
+
+    @Test
+    void compareLikeQueryWithNameIndex() {
+        Pageable pageable = PageRequest.of(0, 12);
+        for (String size : System.getProperty("benchmark.sizes", "10000,100000,1000000").split(",")) {
+            growCatalog(Integer.parseInt(size.trim()));
+            nameIndex.rebuild();
+
+            for (String term : TERMS) {
+                long like = measure(() -> repository.searchByName(SearchTextUtil.normalize(term), null, null, pageable));
+                long index = measure(() -> {
+                    List<Long> ids = nameIndex.search(term, pageable.getSort());
+                    repository.searchMinByIds(ids.subList(0, Math.min(ids.size(), pageable.getPageSize())));
+                });
+                System.out.printf("products=%s term='%s' like=%dus index=%dus%n", size.trim(), term, like, index);
+            }
+        }
+    }
+
+    @Test
+    void compareLikeQueryWithFuzzySearch() {
+        Pageable pageable = PageRequest.of(0, 12);
+        for (String size : System.getProperty("benchmark.sizes", "10000,100000,1000000").split(",")) {
+            growCatalog(Integer.parseInt(size.trim()));
+            nameIndex.rebuild();
+
+            for (String term : TYPOS) {
+                long like = measure(() -> repository.searchByName(SearchTextUtil.normalize(term), null, null, pageable));
+                long fuzzy = measure(() -> {
+                    List<Long> ids = nameIndex.searchFuzzy(term, pageable.getSort());
+                    repository.searchMinByIds(ids.subList(0, Math.min(ids.size(), pageable.getPageSize())));
+                });
+                int likeHits = repository.searchByName(SearchTextUtil.normalize(term), null, null, pageable).getNumberOfElements();
+                int fuzzyHits = nameIndex.searchFuzzy(term, pageable.getSort()).size();
+                System.out.printf("products=%s term='%s' like=%dus (%d hits) fuzzy=%dus (%d hits)%n",
+                        size.trim(), term, like, likeHits, fuzzy, fuzzyHits);
+            }
+        }
+    }
+
+    private void growCatalog(int target) {
+        Random random = new Random(42);
+        Long current = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class);
+        List<Object[]> batch = new ArrayList<>();
+        for (long i = current; i < target; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            batch.add(new Object[] {name, SearchTextUtil.normalize(name), 10.0 + random.nextInt(5000), "Lorem ipsum dolor", ""});
+            if (batch.size() == 5000) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO tb_product (name, name_normalized, price, description, img_url) VALUES (?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private static long measure(Runnable query) {
+        query.run();
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,64 @@
+package com.devsuperior.dscommerce.factory;
+
+import com.devsuperior.dscommerce.projections.ProductExportProjection;
+
+public class ProductExportFactory {
+    public static ProductExportProjection createRow(Long id, String name, Long categoryId, String categoryName) {
+        return new ProductExportImpl(id, name, "Lorem ipsum", 3000.0, "https://example.com.br", categoryId, categoryName);
+    }
+}
+
+class ProductExportImpl implements ProductExportProjection {
+    private Long id;
+    private String name;
+    private String description;
+    private Double price;
+    private String imgUrl;
+    private Long categoryId;
+    private String categoryName;
+
+    public ProductExportImpl(Long id, String name, String description, Double price, String imgUrl, Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.imgUrl = imgUrl;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Double getPrice() {
+        return price;
+    }
+
+    @Override
+    public String getImgUrl() {
+        return imgUrl;
+    }
+
+    @Override
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    @Override
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
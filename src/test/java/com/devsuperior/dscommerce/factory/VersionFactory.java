@@ -0,0 +1,38 @@
+package com.devsuperior.dscommerce.factory;
+
+import com.devsuperior.dscommerce.projections.VersionProjection;
+
+import java.time.Instant;
+
+public class VersionFactory {
+    public static VersionProjection createVersion(Long count, Long version) {
+        return new VersionImpl(count, version, Instant.parse("2022-07-25T13:00:00Z"));
+    }
+}
+
+class VersionImpl implements VersionProjection {
+    private Long count;
+    private Long version;
+    private Instant lastModified;
+
+    public VersionImpl(Long count, Long version, Instant lastModified) {
+        this.count = count;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public Long getCount() {
+        return count;
+    }
+
+    @Override
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -1,8 +1,10 @@
 package com.devsuperior.dscommerce.services;
 
 import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.VersionDTO;
 import com.devsuperior.dscommerce.entities.Category;
 import com.devsuperior.dscommerce.factory.CategoryFactory;
+import com.devsuperior.dscommerce.factory.VersionFactory;
 import com.devsuperior.dscommerce.repositories.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +34,7 @@ class CategoryServiceTest {
         category = CategoryFactory.createCategory();
 
         Mockito.when(repository.findAll()).thenReturn(List.of(category));
+        Mockito.when(repository.searchCatalogVersion()).thenReturn(VersionFactory.createVersion(3L, 5L));
     }
 
     @Test
@@ -42,4 +45,11 @@ class CategoryServiceTest {
         assertEquals(category.getId(), result.get(0).getId());
         assertEquals(category.getName(), result.get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findVersionShouldReturnETagWithCategoryCountAndLastModified() {
+        VersionDTO result = service.findVersion();
+
+        assertEquals("\"categories-3-1658754000000000\"", result.getETag());
+    }
+}
@@ -1,37 +1,47 @@
 package com.devsuperior.dscommerce.services;
 
+import com.devsuperior.dscommerce.dto.CursorPageDTO;
 import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderSummaryDTO;
 import com.devsuperior.dscommerce.entities.Order;
 import com.devsuperior.dscommerce.entities.OrderItem;
+import com.devsuperior.dscommerce.entities.OrderStatus;
 import com.devsuperior.dscommerce.entities.Product;
 import com.devsuperior.dscommerce.entities.User;
 import com.devsuperior.dscommerce.factory.OrderFactory;
 import com.devsuperior.dscommerce.factory.ProductFactory;
 import com.devsuperior.dscommerce.factory.UserFactory;
-import com.devsuperior.dscommerce.repositories.OrderItemRepository;
 import com.devsuperior.dscommerce.repositories.OrderRepository;
 import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.OrderPlacedEvent;
 import com.devsuperior.dscommerce.services.exceptions.ForbiddenException;
+import com.devsuperior.dscommerce.services.exceptions.InvalidCursorException;
 import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
-import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(SpringExtension.class)
 class OrderServiceTest {
 
+    private static final Instant MOMENT = Instant.parse("2022-07-25T13:00:00Z");
+
     @InjectMocks
     private OrderService service;
 
@@ -45,10 +55,10 @@ class OrderServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private OrderItemRepository orderItemRepository;
+    private UserService userService;
 
     @Mock
-    private UserService userService;
+    private ApplicationEventPublisher eventPublisher;
 
     private Long existingOrderId, nonExistingOrderId;
     private Long existingProductId, nonExistingProductId;
@@ -78,10 +88,8 @@ class OrderServiceTest {
         Mockito.when(repository.findById(nonExistingOrderId)).thenReturn(Optional.empty());
 
         // Mocks para insert()
-        Mockito.when(productRepository.getReferenceById(existingProductId)).thenReturn(product);
-        Mockito.when(productRepository.getReferenceById(nonExistingProductId)).thenThrow(EntityNotFoundException.class);
+        Mockito.when(productRepository.findAllById(any())).thenReturn(List.of(ProductFactory.createProduct()));
         Mockito.when(repository.save(any())).thenReturn(order);
-        Mockito.when(orderItemRepository.saveAll(any())).thenReturn(new ArrayList<>(order.getItems()));
     }
 
     @Test
@@ -134,6 +142,14 @@ class OrderServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    void insertShouldPublishOrderPlacedEvent() {
+        Mockito.when(userService.authenticated()).thenReturn(client);
+        service.insert(orderDTO);
+
+        verify(eventPublisher).publishEvent(any(OrderPlacedEvent.class));
+    }
+
     @Test
     void insertShouldThrowsUsernameNotFoundExceptionWhenUserNotLogged() {
         Mockito.doThrow(UsernameNotFoundException.class).when(userService).authenticated();
@@ -147,17 +163,82 @@ class OrderServiceTest {
     }
 
     @Test
-    void insertShouldThrowsEntityNotFoundExceptionWhenOrderProductIdDoesNotExist() {
+    void insertShouldLoadAllProductsWithOneQuery() {
+        Mockito.when(userService.authenticated()).thenReturn(client);
+        service.insert(orderDTO);
+
+        verify(productRepository, Mockito.times(1)).findAllById(any());
+        verify(productRepository, Mockito.never()).getReferenceById(any());
+    }
+
+    @Test
+    void insertShouldThrowsResourceNotFoundExceptionWhenOrderProductIdDoesNotExist() {
         Mockito.when(userService.authenticated()).thenReturn(client);
 
-        product.setId(nonExistingOrderId);
+        product.setId(nonExistingProductId);
         OrderItem orderItem = new OrderItem(order, product, 2, 10.0);
         order.getItems().add(orderItem);
 
         orderDTO = new OrderDTO(order);
 
-        assertThrows(EntityNotFoundException.class, () -> {
+        assertThrows(ResourceNotFoundException.class, () -> {
            service.insert(orderDTO);
         });
+        verify(repository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void validateShouldNotThrowWhenAllProductsExist() {
+        Mockito.when(productRepository.searchExistingIds(any())).thenReturn(List.of(existingProductId));
+
+        assertDoesNotThrow(() -> service.validate(orderDTO));
+        verify(productRepository, Mockito.never()).findAllById(any());
+    }
+
+    @Test
+    void validateShouldThrowResourceNotFoundExceptionWhenProductDoesNotExist() {
+        Mockito.when(productRepository.searchExistingIds(any())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.validate(orderDTO));
+    }
+
+    @Test
+    void findAllShouldListOnlyOwnOrdersWhenClientLogged() {
+        Mockito.when(userService.authenticated()).thenReturn(client);
+        Mockito.when(repository.searchSummariesByClient(eq(client.getId()), any())).thenReturn(List.of(summary(3L)));
+
+        CursorPageDTO<OrderSummaryDTO> result = service.findAll("", 2);
+
+        assertEquals(1, result.getSize());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void findAllShouldListAllOrdersAndContinueAfterCursorWhenAdminLogged() {
+        Mockito.when(userService.authenticated()).thenReturn(admin);
+        Mockito.when(repository.searchSummaries(Limit.of(2))).thenReturn(List.of(summary(3L), summary(2L)));
+
+        CursorPageDTO<OrderSummaryDTO> first = service.findAll("", 1);
+
+        assertTrue(first.isHasNext());
+        assertEquals(3L, first.getContent().get(0).getId());
+
+        Mockito.when(repository.searchSummariesAfter(MOMENT, 3L, Limit.of(2))).thenReturn(List.of(summary(2L)));
+        CursorPageDTO<OrderSummaryDTO> second = service.findAll(first.getNext(), 1);
+
+        assertFalse(second.isHasNext());
+        assertEquals(2L, second.getContent().get(0).getId());
+    }
+
+    @Test
+    void findAllShouldThrowInvalidCursorExceptionWhenCursorIsMalformed() {
+        Mockito.when(userService.authenticated()).thenReturn(client);
+
+        assertThrows(InvalidCursorException.class, () -> service.findAll("xyz", 20));
+    }
+
+    private static OrderSummaryDTO summary(Long id) {
+        return new OrderSummaryDTO(id, MOMENT, OrderStatus.PAID, 2L, 1L, 20.0);
     }
-}
\ No newline at end of file
+}
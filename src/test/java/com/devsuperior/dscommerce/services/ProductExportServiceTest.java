@@ -0,0 +1,67 @@
+package com.devsuperior.dscommerce.services;
+
+import com.devsuperior.dscommerce.factory.ProductExportFactory;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class ProductExportServiceTest {
+
+    @InjectMocks
+    private ProductExportService service;
+
+    @Mock
+    private ProductRepository repository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private ByteArrayOutputStream out;
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream();
+
+        // Mock para streamCatalog(): uma linha por categoria, ordenada por produto
+        Mockito.when(repository.streamCatalog()).thenReturn(Stream.of(
+                ProductExportFactory.createRow(1L, "PlayStation 5", 1L, "Games"),
+                ProductExportFactory.createRow(1L, "PlayStation 5", 2L, "Eletrônicos"),
+                ProductExportFactory.createRow(2L, "Mesa, \"gamer\"", null, null)));
+    }
+
+    @Test
+    void exportNdjsonShouldWriteOneLinePerProductWithCategories() throws IOException {
+        service.exportNdjson(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals(2, objectMapper.readTree(lines.get(0)).get("categories").size());
+        assertEquals(0, objectMapper.readTree(lines.get(1)).get("categories").size());
+    }
+
+    @Test
+    void exportCsvShouldWriteHeaderAndEscapeValues() throws IOException {
+        service.exportCsv(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("1,PlayStation 5,Lorem ipsum,3000.0,https://example.com.br,1|2,Games|Eletrônicos", lines.get(1));
+        assertEquals("2,\"Mesa, \"\"gamer\"\"\",Lorem ipsum,3000.0,https://example.com.br,,", lines.get(2));
+    }
+}
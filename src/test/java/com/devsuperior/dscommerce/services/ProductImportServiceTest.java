@@ -0,0 +1,169 @@
+package com.devsuperior.dscommerce.services;
+
+import com.devsuperior.dscommerce.dto.ProductImportResultDTO;
+import com.devsuperior.dscommerce.factory.CategoryFactory;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+class ProductImportServiceTest {
+
+    @InjectMocks
+    private ProductImportService service;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private String insertLine, updateLine;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        insertLine = "{\"name\":\"PlayStation 5\",\"description\":\"Console de videogame\",\"price\":4000.0,\"categories\":[{\"id\":1}]}";
+        updateLine = "{\"id\":7,\"name\":\"PlayStation 5\",\"description\":\"Console de videogame\",\"price\":3500.0,\"categories\":[{\"id\":1}]}";
+
+        // Mocks para as categorias existentes
+        Mockito.when(categoryRepository.findAll()).thenReturn(List.of(CategoryFactory.createCategory()));
+
+        // Mocks para a transação e os lotes JDBC
+        Mockito.when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[] {1});
+        Mockito.when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("id", 100L + i));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+    }
+
+    @Test
+    void importProductsShouldInsertAndUpdateValidLines() throws IOException {
+        ProductImportResultDTO result = service.importProducts(input(insertLine, "", updateLine));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(0, result.getFailed());
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importProductsShouldReportInvalidLinesWithoutWriting() throws IOException {
+        String invalid = "{\"name\":\"PS\",\"description\":\"curta\",\"price\":-1.0,\"categories\":[]}";
+        String unknownCategory = "{\"name\":\"PlayStation 5\",\"description\":\"Console de videogame\",\"price\":4000.0,\"categories\":[{\"id\":99}]}";
+
+        ProductImportResultDTO result = service.importProducts(input("{json", invalid, unknownCategory));
+
+        assertEquals(0, result.getInserted());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(1L, 2L, 3L), result.getErrors().stream().map(e -> e.getLine()).toList());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void importProductsShouldReportMissingProductOnUpdate() throws IOException {
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class))).thenReturn(new int[] {0});
+
+        ProductImportResultDTO result = service.importProducts(input(updateLine));
+
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getFailed());
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importProductsShouldWriteOneTransactionPerChunk() throws IOException {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+
+        ProductImportResultDTO result = service.importProducts(input(insertLine, insertLine, insertLine));
+
+        assertEquals(3, result.getInserted());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void importProductsShouldRetryFailedChunkLineByLine() throws IOException {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        ProductImportResultDTO result = service.importProducts(input(updateLine, insertLine, insertLine));
+
+        assertEquals(2, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getFailed());
+        assertEquals(List.of(1L), result.getErrors().stream().map(e -> e.getLine()).toList());
+        assertEquals("Falha ao gravar o produto", result.getErrors().get(0).getMessage());
+        verify(transactionTemplate, times(4)).execute(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void importProductsShouldRejectImgUrlLongerThanColumn() throws IOException {
+        String longImgUrl = "{\"name\":\"PlayStation 5\",\"description\":\"Console de videogame\",\"price\":4000.0,"
+                + "\"imgUrl\":\"https://img.com/" + "a".repeat(250) + "\",\"categories\":[{\"id\":1}]}";
+
+        ProductImportResultDTO result = service.importProducts(input(longImgUrl));
+
+        assertEquals(1, result.getFailed());
+        assertEquals("imgUrl: URL da imagem precisa ter no máximo 255 caracteres", result.getErrors().get(0).getMessage());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    private static ByteArrayInputStream input(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,86 @@
+package com.devsuperior.dscommerce.services;
+
+import com.devsuperior.dscommerce.projections.ProductNameProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+class ProductSearchBackfillServiceTest {
+
+    @InjectMocks
+    private ProductSearchBackfillService service;
+
+    @Mock
+    private ProductRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private List<ProductNameProjection> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = List.of(projection(4L, "Câmera Fotográfica"), projection(9L, "Smart TV"));
+    }
+
+    @Test
+    void backfillShouldNormalizeRowsMissingTheColumn() throws SQLException {
+        Mockito.when(repository.searchNamesToNormalize(0L, PageRequest.of(0, 500))).thenReturn(rows);
+
+        long result = service.backfill();
+
+        assertEquals(2, result);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<ProductNameProjection>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), Mockito.eq(rows), Mockito.eq(2), setter.capture());
+        PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, rows.get(0));
+        verify(ps).setString(1, "CAMERA FOTOGRAFICA");
+        verify(ps).setLong(2, 4L);
+    }
+
+    @Test
+    void backfillShouldDoNothingWhenEveryRowIsNormalized() {
+        Mockito.when(repository.searchNamesToNormalize(anyLong(), any())).thenReturn(List.of());
+
+        assertEquals(0, service.backfill());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static ProductNameProjection projection(Long id, String name) {
+        return new ProductNameProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -1,12 +1,40 @@
 package com.devsuperior.dscommerce.services;
 
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.CategoryFacetDTO;
+import com.devsuperior.dscommerce.dto.CursorPageDTO;
+import com.devsuperior.dscommerce.dto.FacetPageDTO;
 import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.dto.ProductDeleteResultDTO;
+import com.devsuperior.dscommerce.dto.ProductFilterDTO;
+import com.devsuperior.dscommerce.dto.ProductLookupDTO;
+import com.devsuperior.dscommerce.dto.ProductPatchDTO;
 import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.dto.SliceDTO;
+import com.devsuperior.dscommerce.dto.VersionDTO;
+import com.devsuperior.dscommerce.dto.VersionedDTO;
+import com.devsuperior.dscommerce.entities.Category;
 import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.factory.CategoryFactory;
 import com.devsuperior.dscommerce.factory.ProductFactory;
+import com.devsuperior.dscommerce.factory.VersionFactory;
+import com.devsuperior.dscommerce.repositories.CategoryRepository;
 import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.cache.ProductSearchCache;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
 import com.devsuperior.dscommerce.services.exceptions.DatabaseException;
+import com.devsuperior.dscommerce.services.exceptions.InvalidCursorException;
+import com.devsuperior.dscommerce.services.exceptions.InvalidSearchException;
 import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.ServiceUnavailableException;
+import com.devsuperior.dscommerce.services.search.CategoryFacetIndex;
+import com.devsuperior.dscommerce.services.search.ProductBits;
+import com.devsuperior.dscommerce.services.search.ProductNameIndex;
+import com.devsuperior.dscommerce.services.search.ProductPriceIndex;
+import com.devsuperior.dscommerce.services.search.ProductSuggestIndex;
+import com.devsuperior.dscommerce.util.CursorUtil;
+import com.devsuperior.dscommerce.util.SearchTextUtil;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,15 +43,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,11 +78,35 @@ class ProductServiceTest {
     @Mock
     private ProductRepository repository;
 
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductNameIndex nameIndex;
+
+    @Mock
+    private CategoryFacetIndex facetIndex;
+
+    @Mock
+    private ProductPriceIndex priceIndex;
+
+    @Mock
+    private ProductSuggestIndex suggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductSearchCache searchCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCT_COUNTS);
+
     private long existingId, nonExistingId, dependentId;
     private String productName;
     private Product product;
     private ProductDTO productDTO;
-    private PageImpl<Product> page;
+    private PageImpl<ProductMinDTO> page;
 
     @BeforeEach
     void setUp() {
@@ -53,17 +116,30 @@ class ProductServiceTest {
         productName = "PlayStation 5";
         product = ProductFactory.createProduct(productName);
         productDTO = new ProductDTO(product);
-        page = new PageImpl<>(List.of(product));
+        page = new PageImpl<>(List.of(new ProductMinDTO(product)));
 
         // Mocks para findById()
         Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(product));
         Mockito.when(repository.findById(nonExistingId)).thenReturn(Optional.empty());
 
+        // Mocks para findVersion()
+        Mockito.when(repository.searchVersionById(existingId)).thenReturn(VersionFactory.createVersion(1L, 3L));
+        Mockito.when(repository.searchVersionById(nonExistingId)).thenReturn(VersionFactory.createVersion(0L, null));
+
         // Mock para findAll()
-        Mockito.when(repository.searchByName(any(), (Pageable) any())).thenReturn(page);
+        Mockito.when(repository.searchByName(any(), any(), any(), (Pageable) any())).thenReturn(page);
+        Mockito.when(repository.countByCategory(any(), any(), any())).thenReturn(List.of(new CategoryFacetDTO(1L, 1L)));
+
+        Mockito.when(searchCache.get(any(), any(), any())).thenAnswer(x -> x.getArgument(2, Supplier.class).get());
+
+        // Mocks para findAllSlice()
+        Mockito.when(repository.searchSliceByName(any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(new ProductMinDTO(product)), PageRequest.of(0, 12), true));
+        Mockito.when(repository.countMatching(any(), any(), any())).thenReturn(40L);
 
         // Mock para insert()
         Mockito.when(repository.save(any())).thenReturn(product);
+        Mockito.when(categoryRepository.getReferenceById(any())).thenReturn(CategoryFactory.createCategory());
 
         // Mocks para update()
         Mockito.when(repository.getReferenceById(existingId)).thenReturn(product);
@@ -94,14 +170,271 @@ class ProductServiceTest {
         });
     }
 
+    @Test
+    void findByIdsShouldReturnResultsInRequestOrderWithNotFoundMarkers() {
+        Mockito.when(repository.findByIdIn(any())).thenReturn(List.of(product));
+
+        List<ProductLookupDTO> result = service.findByIds(List.of(nonExistingId, existingId, existingId));
+
+        assertEquals(3, result.size());
+        assertEquals(nonExistingId, result.get(0).getId());
+        assertFalse(result.get(0).isFound());
+        assertNull(result.get(0).getProduct());
+        assertTrue(result.get(1).isFound());
+        assertEquals(productName, result.get(1).getProduct().getName());
+        assertTrue(result.get(2).isFound());
+    }
+
+    @Test
+    void findVersionedByIdShouldReturnETagOfLoadedRow() {
+        ReflectionTestUtils.setField(product, "version", 4L);
+
+        VersionedDTO<ProductDTO> result = service.findVersionedById(existingId);
+
+        assertEquals(existingId, result.getBody().getId());
+        assertEquals("\"product-1-4\"", result.getVersion().getETag());
+    }
+
+    @Test
+    void findVersionShouldReturnETagWithProductVersionWhenIdExists() {
+        VersionDTO result = service.findVersion(existingId);
+
+        assertEquals("\"product-1-3\"", result.getETag());
+    }
+
+    @Test
+    void findVersionShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+        assertThrows(ResourceNotFoundException.class, () -> {
+            service.findVersion(nonExistingId);
+        });
+    }
+
     @Test
     void findAllShouldReturnPagedProductMinDTO() {
         Pageable pageable = PageRequest.of(0, 12);
-        Page<ProductMinDTO> result = service.findAll(productName, pageable);
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO(productName), pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getSize());
         assertEquals(productName, result.iterator().next().getName());
+        assertEquals(1, result.getFacets().size());
+    }
+
+    @Test
+    void findAllShouldUseNameIndexWhenIndexIsReady() {
+        Pageable pageable = PageRequest.of(0, 12);
+        mockIndexes(pageable, List.of(existingId));
+        Mockito.when(repository.searchMinByIds(List.of(existingId))).thenReturn(List.of(new ProductMinDTO(product)));
+
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO(productName), pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(productName, result.iterator().next().getName());
+        assertEquals(2L, result.getFacets().get(0).getCount());
+        verify(repository, Mockito.never()).searchByName(any(), any(), any(), any());
+        verify(repository, Mockito.never()).countByCategory(any(), any(), any());
+    }
+
+    @Test
+    void findAllShouldFilterByCategoryBitmapWhenIndexIsReady() {
+        Pageable pageable = PageRequest.of(0, 12);
+        mockIndexes(pageable, List.of(existingId, nonExistingId));
+        BitSet games = new BitSet();
+        games.set((int) nonExistingId);
+        Mockito.when(facetIndex.anyOf(List.of(1L))).thenReturn(games);
+        Mockito.when(repository.searchMinByIds(List.of(nonExistingId))).thenReturn(List.of(new ProductMinDTO(product)));
+
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO(productName, false, List.of(1L), null, null), pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(repository, Mockito.never()).searchByNameAndCategories(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void findAllShouldFilterAndSortByPriceIndexWhenIndexIsReady() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "price"));
+        Mockito.when(nameIndex.search(productName, Sort.unsorted())).thenReturn(List.of(existingId, nonExistingId, dependentId));
+        mockIndexes(pageable, List.of());
+        Mockito.when(priceIndex.supports(pageable.getSort())).thenReturn(true);
+        BitSet inRange = new BitSet();
+        inRange.set((int) existingId);
+        inRange.set((int) dependentId);
+        Mockito.when(priceIndex.between(100.0, 500.0)).thenReturn(inRange);
+        Mockito.when(priceIndex.sort(inRange, Sort.Direction.DESC)).thenReturn(List.of(dependentId, existingId));
+        Product dependent = ProductFactory.createProduct();
+        dependent.setId(dependentId);
+        Mockito.when(repository.searchMinByIds(List.of(dependentId, existingId)))
+                .thenReturn(List.of(new ProductMinDTO(product), new ProductMinDTO(dependent)));
+
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO(productName, false, List.of(), 100.0, 500.0), pageable);
+
+        assertEquals(List.of(dependentId, existingId), result.map(ProductMinDTO::getId).getContent());
+        verify(repository, Mockito.never()).searchByName(any(), any(), any(), any());
+    }
+
+    @Test
+    void findAllShouldUsePriceIndexWithoutNameSearchWhenNameIsEmpty() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by("price"));
+        mockIndexes(pageable, List.of());
+        Mockito.when(priceIndex.supports(pageable.getSort())).thenReturn(true);
+        BitSet all = ProductBits.of(List.of(existingId, dependentId));
+        Mockito.when(priceIndex.between(null, null)).thenReturn(all);
+        Mockito.when(priceIndex.sort(all, Sort.Direction.ASC)).thenReturn(List.of(existingId, dependentId));
+        Product dependent = ProductFactory.createProduct();
+        dependent.setId(dependentId);
+        Mockito.when(repository.searchMinByIds(List.of(existingId, dependentId)))
+                .thenReturn(List.of(new ProductMinDTO(product), new ProductMinDTO(dependent)));
+
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO(""), pageable);
+
+        assertEquals(List.of(existingId, dependentId), result.map(ProductMinDTO::getId).getContent());
+        verify(nameIndex, Mockito.never()).search(any(), any());
+        verify(repository, Mockito.never()).searchByName(any(), any(), any(), any());
+    }
+
+    @Test
+    void findAllShouldListIdsDescendingFromPriceIndexWhenNameIsEmpty() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "id"));
+        mockIndexes(pageable, List.of());
+        Mockito.when(priceIndex.between(null, null)).thenReturn(ProductBits.of(List.of(existingId, dependentId)));
+
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO(""), pageable);
+
+        assertEquals(2, result.getTotalElements());
+        verify(repository).searchMinByIds(List.of(dependentId, existingId));
+        verify(nameIndex, Mockito.never()).search(any(), any());
+    }
+
+    @Test
+    void findAllShouldUsePagedQueryWhenNameIsEmptyAndSortedByName() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by("name"));
+        mockIndexes(pageable, List.of());
+
+        service.findAll(new ProductFilterDTO(""), pageable);
+
+        verify(nameIndex, Mockito.never()).search(any(), any());
+        verify(repository).searchByName("", null, null, pageable);
+    }
+
+    @Test
+    void findAllShouldUseFuzzySearchWhenRequested() {
+        Pageable pageable = PageRequest.of(0, 12);
+        mockIndexes(pageable, List.of());
+        Mockito.when(nameIndex.searchFuzzy("PlayStaton 5", pageable.getSort())).thenReturn(List.of(existingId));
+        Mockito.when(repository.searchMinByIds(List.of(existingId))).thenReturn(List.of(new ProductMinDTO(product)));
+
+        FacetPageDTO<ProductMinDTO> result = service.findAll(new ProductFilterDTO("PlayStaton 5", true, List.of(), null, null), pageable);
+
+        assertEquals(productName, result.iterator().next().getName());
+        verify(nameIndex, Mockito.never()).search(any(), any());
+    }
+
+    @Test
+    void findAllShouldRejectFuzzySearchWhenIndexesCannotServeSort() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by("popularity"));
+        mockIndexes(pageable, List.of());
+        Mockito.when(nameIndex.supports(any())).thenReturn(false);
+        ProductFilterDTO filter = new ProductFilterDTO("PlayStaton 5", true, List.of(), null, null);
+
+        assertThrows(InvalidSearchException.class, () -> service.findAll(filter, pageable));
+        assertThrows(InvalidSearchException.class, () -> service.findAllSlice(filter, pageable));
+        verify(repository, Mockito.never()).searchByName(any(), any(), any(), (Pageable) any());
+    }
+
+    @Test
+    void findAllShouldReportFuzzySearchUnavailableWhileIndexesAreLoading() {
+        Pageable pageable = PageRequest.of(0, 12);
+        ProductFilterDTO filter = new ProductFilterDTO("PlayStaton 5", true, List.of(), null, null);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.findAll(filter, pageable));
+        verify(repository, Mockito.never()).searchByName(any(), any(), any(), (Pageable) any());
+    }
+
+    @Test
+    void findAllShouldSortByPopularityOnSoldUnitsColumn() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by("popularity"));
+
+        service.findAll(new ProductFilterDTO(productName), pageable);
+
+        Pageable expected = PageRequest.of(0, 12, Sort.by(Sort.Order.desc("soldUnits"), Sort.Order.asc("id")));
+        verify(repository).searchByName(SearchTextUtil.normalize(productName), null, null, expected);
+    }
+
+    @Test
+    void findAllSliceShouldSkipCountQueryWhenTotalIsCached() {
+        Pageable pageable = PageRequest.of(0, 12);
+        ProductFilterDTO filter = new ProductFilterDTO(productName);
+
+        service.findAllSlice(filter, pageable);
+        SliceDTO<ProductMinDTO> result = service.findAllSlice(filter, PageRequest.of(1, 12));
+
+        assertTrue(result.hasNext());
+        assertEquals(40L, result.getApproximateTotal());
+        verify(repository, Mockito.times(2)).searchSliceByName(any(), any(), any(), any());
+        verify(repository, Mockito.times(1)).countMatching(any(), any(), any());
+        verify(repository, Mockito.never()).searchByName(any(), any(), any(), any());
+    }
+
+    @Test
+    void findAllSliceShouldReturnExactTotalWhenIndexIsReady() {
+        Pageable pageable = PageRequest.of(0, 1);
+        mockIndexes(pageable, List.of(existingId, nonExistingId));
+        Mockito.when(repository.searchMinByIds(List.of(existingId))).thenReturn(List.of(new ProductMinDTO(product)));
+
+        SliceDTO<ProductMinDTO> result = service.findAllSlice(new ProductFilterDTO(productName), pageable);
+
+        assertTrue(result.hasNext());
+        assertEquals(2L, result.getApproximateTotal());
+        verify(repository, Mockito.never()).searchSliceByName(any(), any(), any(), any());
+        verify(repository, Mockito.never()).countMatching(any(), any(), any());
+    }
+
+    @Test
+    void suggestShouldUseSuggestIndexWhenIndexIsReady() {
+        Mockito.when(suggestIndex.isReady()).thenReturn(true);
+        Mockito.when(suggestIndex.suggest("play", 5)).thenReturn(List.of(productName));
+
+        List<String> result = service.suggest("play", 5);
+
+        assertEquals(List.of(productName), result);
+        verify(repository, Mockito.never()).searchNamesByPrefix(any(), any());
+    }
+
+    @Test
+    void suggestShouldQueryRepositoryWhenIndexIsNotReady() {
+        Mockito.when(repository.searchNamesByPrefix("PLAY", PageRequest.of(0, 5))).thenReturn(List.of(productName));
+
+        List<String> result = service.suggest("play", 5);
+
+        assertEquals(List.of(productName), result);
+    }
+
+    @Test
+    void findAllAfterShouldReturnNextCursorWhenWindowHasNext() {
+        Window<Product> window = Window.from(List.of(product), i -> ScrollPosition.forward(Map.of("id", existingId)), true);
+        Mockito.when(repository.findByNameNormalizedContaining(any(), any(), any(), any())).thenReturn(window);
+
+        CursorPageDTO<ProductMinDTO> result = service.findAllAfter(productName, "", 1, Sort.unsorted());
+
+        assertEquals(1, result.getSize());
+        assertTrue(result.isHasNext());
+        assertEquals(Map.of("id", existingId), CursorUtil.decode(result.getNext(), Map.of("id", Long.class)));
+    }
+
+    @Test
+    void findAllAfterShouldThrowInvalidCursorExceptionWhenCursorDoesNotMatchSort() {
+        String after = CursorUtil.encode(Map.of("id", existingId));
+
+        assertThrows(InvalidCursorException.class, () -> {
+            service.findAllAfter(productName, after, 12, Sort.by("name"));
+        });
+    }
+
+    @Test
+    void findAllAfterShouldThrowInvalidCursorExceptionWhenSortIsNotSupported() {
+        assertThrows(InvalidCursorException.class, () -> {
+            service.findAllAfter(productName, "", 12, Sort.by("description"));
+        });
     }
 
     @Test
@@ -121,6 +454,53 @@ class ProductServiceTest {
         assertEquals(existingId, result.getId());
     }
 
+    @Test
+    void updateShouldNotPublishEventWhenNothingChanged() {
+        Category category = product.getCategories().iterator().next();
+
+        service.update(existingId, productDTO);
+
+        assertSame(category, product.getCategories().iterator().next());
+        verify(eventPublisher, Mockito.never()).publishEvent(any());
+        verify(categoryRepository, Mockito.never()).getReferenceById(any());
+    }
+
+    @Test
+    void updateShouldOnlyAddAndRemoveChangedCategories() {
+        Category kept = product.getCategories().iterator().next();
+        Category added = new Category(2L, "Eletrônicos");
+        Mockito.when(categoryRepository.getReferenceById(2L)).thenReturn(added);
+        productDTO.getCategories().add(new CategoryDTO(added));
+
+        service.update(existingId, productDTO);
+
+        assertEquals(2, product.getCategories().size());
+        assertTrue(product.getCategories().contains(kept));
+        assertTrue(product.getCategories().contains(added));
+        verify(categoryRepository, Mockito.times(1)).getReferenceById(any());
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void patchShouldChangeOnlyGivenFields() {
+        String description = product.getDescription();
+
+        ProductDTO result = service.patch(existingId, new ProductPatchDTO(null, null, 4000.0, null, null));
+
+        assertEquals(4000.0, result.getPrice());
+        assertEquals(productName, result.getName());
+        assertEquals(description, result.getDescription());
+        assertEquals(1, result.getCategories().size());
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void patchShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+        assertThrows(ResourceNotFoundException.class, () -> {
+            service.patch(nonExistingId, new ProductPatchDTO("Xbox", null, null, null, null));
+        });
+    }
+
     @Test
     void updateShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -128,6 +508,29 @@ class ProductServiceTest {
         });
     }
 
+    @Test
+    void deleteAllShouldDeleteUnreferencedProductsAndReportEveryId() {
+        Mockito.when(repository.searchExistingIds(any())).thenReturn(List.of(existingId, dependentId));
+        Mockito.when(repository.searchReferencedIds(any())).thenReturn(List.of(dependentId));
+
+        List<ProductDeleteResultDTO> result = service.deleteAll(List.of(nonExistingId, existingId, dependentId, existingId));
+
+        assertEquals(List.of(nonExistingId, existingId, dependentId), result.stream().map(ProductDeleteResultDTO::getId).toList());
+        assertEquals(List.of(ProductDeleteResultDTO.Status.NOT_FOUND, ProductDeleteResultDTO.Status.DELETED,
+                ProductDeleteResultDTO.Status.REFERENCED), result.stream().map(ProductDeleteResultDTO::getStatus).toList());
+        verify(repository).deleteCategoryLinks(List.of(existingId));
+        verify(repository).deleteByIds(List.of(existingId));
+        verify(eventPublisher, Mockito.times(1)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void deleteAllShouldNotDeleteWhenNoIdExists() {
+        List<ProductDeleteResultDTO> result = service.deleteAll(List.of(nonExistingId));
+
+        assertEquals(ProductDeleteResultDTO.Status.NOT_FOUND, result.get(0).getStatus());
+        verify(repository, Mockito.never()).deleteByIds(any());
+    }
+
     @Test
     void deleteShouldDoNothingWhenIdExists() {
         assertDoesNotThrow(() -> {
@@ -148,4 +551,13 @@ class ProductServiceTest {
             service.delete(dependentId);
         });
     }
-}
\ No newline at end of file
+
+    private void mockIndexes(Pageable pageable, List<Long> ids) {
+        Mockito.when(nameIndex.isReady()).thenReturn(true);
+        Mockito.when(nameIndex.supports(any())).thenReturn(true);
+        Mockito.when(nameIndex.search(productName, pageable.getSort())).thenReturn(ids);
+        Mockito.when(facetIndex.isReady()).thenReturn(true);
+        Mockito.when(priceIndex.isReady()).thenReturn(true);
+        Mockito.when(facetIndex.count(any())).thenReturn(Map.of(1L, 2L));
+    }
+}
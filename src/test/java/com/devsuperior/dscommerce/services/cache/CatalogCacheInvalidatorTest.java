@@ -0,0 +1,95 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.factory.ProductFactory;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+class CatalogCacheInvalidatorTest {
+
+    @InjectMocks
+    private CatalogCacheInvalidator invalidator;
+
+    @Mock
+    private ProductSearchCache searchCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS, CacheConfig.PRODUCT_JSON);
+
+    private Cache products;
+    private ProductDTO productDTO;
+
+    @BeforeEach
+    void setUp() {
+        productDTO = new ProductDTO(ProductFactory.createProduct());
+        products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        products.put(1L, productDTO);
+        products.put(2L, productDTO);
+    }
+
+    @Test
+    void onProductChangedShouldEvictOnlyChangedProduct() {
+        invalidator.onProductChanged(new ProductChangedEvent(1L, productDTO));
+
+        assertNull(products.get(1L));
+        assertNotNull(products.get(2L));
+    }
+
+    @Test
+    void onProductChangedShouldEvictDeletedProduct() {
+        invalidator.onProductChanged(new ProductChangedEvent(2L, null));
+
+        assertNull(products.get(2L));
+    }
+
+    @Test
+    void onProductChangedShouldRemoveValueLoadedBeforeCommit() throws Exception {
+        CacheManager caffeine = new CaffeineCacheManager(CacheConfig.PRODUCTS, CacheConfig.PRODUCT_JSON);
+        ReflectionTestUtils.setField(invalidator, "cacheManager", caffeine);
+        Cache cache = caffeine.getCache(CacheConfig.PRODUCTS);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        CompletableFuture<Object> read = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return productDTO;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> evict = CompletableFuture.runAsync(
+                () -> invalidator.onProductChanged(new ProductChangedEvent(1L, productDTO)));
+        Thread.sleep(100);
+        committed.countDown();
+        read.get(5, TimeUnit.SECONDS);
+        evict.get(5, TimeUnit.SECONDS);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void onProductChangedShouldInvalidateSearchResults() {
+        invalidator.onProductChanged(new ProductChangedEvent(1L, productDTO));
+
+        verify(searchCache).invalidate();
+    }
+}
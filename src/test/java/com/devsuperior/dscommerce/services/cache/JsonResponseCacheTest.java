@@ -0,0 +1,138 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.CategoryDTO;
+import com.devsuperior.dscommerce.dto.VersionDTO;
+import com.devsuperior.dscommerce.dto.VersionedDTO;
+import com.devsuperior.dscommerce.factory.CategoryFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class JsonResponseCacheTest {
+
+    @InjectMocks
+    private JsonResponseCache responseCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CATEGORY_JSON);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private CategoryDTO categoryDTO;
+    private String expectedJson;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(responseCache, "gzip", true);
+        categoryDTO = new CategoryDTO(CategoryFactory.createCategory());
+        expectedJson = "{\"id\":1,\"name\":\"Games\"}";
+    }
+
+    @Test
+    void getShouldEncodeOnceAndReuseCachedBytes() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedJson first = responseCache.get(CacheConfig.CATEGORY_JSON, 1L, () -> {
+            loads.incrementAndGet();
+            return categoryDTO;
+        });
+        CachedJson second = responseCache.get(CacheConfig.CATEGORY_JSON, 1L, () -> {
+            loads.incrementAndGet();
+            return categoryDTO;
+        });
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertEquals(expectedJson, new String(first.getJson(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toResponseShouldReturnGzipBodyWhenClientAcceptsGzip() throws Exception {
+        CachedJson body = responseCache.get(CacheConfig.CATEGORY_JSON, 1L, () -> categoryDTO);
+
+        ResponseEntity<byte[]> result = responseCache.toResponse(body, "gzip, deflate");
+
+        assertEquals("gzip", result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        byte[] decoded = new GZIPInputStream(new ByteArrayInputStream(result.getBody())).readAllBytes();
+        assertEquals(expectedJson, new String(decoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toResponseShouldReturnPlainBodyWhenClientDoesNotAcceptGzip() {
+        CachedJson body = responseCache.get(CacheConfig.CATEGORY_JSON, 1L, () -> categoryDTO);
+
+        ResponseEntity<byte[]> result = responseCache.toResponse(body, null);
+
+        assertNull(result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body.getJson(), result.getBody());
+    }
+
+    @Test
+    void acceptsGzipShouldHonourQualityValues() {
+        assertTrue(JsonResponseCache.acceptsGzip("gzip;q=0.5, identity"));
+        assertTrue(JsonResponseCache.acceptsGzip("br, *"));
+        assertFalse(JsonResponseCache.acceptsGzip("gzip;q=0, deflate"));
+        assertFalse(JsonResponseCache.acceptsGzip("*;q=1, gzip;q=0"));
+        assertFalse(JsonResponseCache.acceptsGzip("deflate, identity"));
+    }
+
+    @Test
+    void eTagShouldDifferBetweenGzipAndPlainBodies() {
+        VersionDTO version = new VersionDTO("\"product-1-2\"", Instant.parse("2022-07-25T13:00:00Z"));
+
+        assertEquals("\"product-1-2-gzip\"", responseCache.eTag(version, "gzip, deflate"));
+        assertEquals("\"product-1-2\"", responseCache.eTag(version, "gzip;q=0"));
+        assertEquals("\"product-1-2\"", responseCache.eTag(version, null));
+    }
+
+    @Test
+    void checkNotModifiedShouldSendVaryWithNotModified() {
+        VersionDTO version = new VersionDTO("\"product-1-2\"", Instant.parse("2022-07-25T13:00:00Z"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"product-1-2-gzip\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(responseCache.checkNotModified(new ServletWebRequest(request, response), version, null));
+        assertTrue(responseCache.checkNotModified(new ServletWebRequest(request, response), version, "gzip"));
+        assertEquals(304, response.getStatus());
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void toResponseShouldSendETagOfCachedBodyInsteadOfNewerVersion() {
+        VersionDTO cached = new VersionDTO("\"product-1-2\"", Instant.parse("2022-07-25T13:00:00Z"));
+        VersionDTO committed = new VersionDTO("\"product-1-3\"", Instant.parse("2022-07-25T14:00:00Z"));
+        CachedJson body = responseCache.getVersioned(CacheConfig.CATEGORY_JSON, 1L, () -> new VersionedDTO<>(categoryDTO, cached));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/products/1"), response);
+
+        assertFalse(responseCache.checkNotModified(request, committed, null));
+        responseCache.toResponse(body, request, null);
+
+        assertEquals("\"product-1-2\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(cached.getLastModifiedMillis(), response.getDateHeader(HttpHeaders.LAST_MODIFIED));
+    }
+}
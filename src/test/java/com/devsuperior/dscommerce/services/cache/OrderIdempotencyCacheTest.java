@@ -0,0 +1,166 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderItemDTO;
+import com.devsuperior.dscommerce.factory.OrderFactory;
+import com.devsuperior.dscommerce.factory.UserFactory;
+import com.devsuperior.dscommerce.services.exceptions.ConflictException;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.UnprocessableEntityException;
+import com.devsuperior.dscommerce.util.CustomUserUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class OrderIdempotencyCacheTest {
+
+    @InjectMocks
+    private OrderIdempotencyCache idempotencyCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.ORDER_IDEMPOTENCY);
+
+    @Mock
+    private CustomUserUtil customUserUtil;
+
+    private OrderDTO order;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        order = new OrderDTO(OrderFactory.createOrder(UserFactory.createClientUser()));
+        runs = new AtomicInteger();
+        ReflectionTestUtils.setField(idempotencyCache, "waitTimeout", Duration.ofSeconds(5));
+
+        // Mocks para o usuário logado
+        Mockito.when(customUserUtil.getLoggedUsername()).thenReturn("maria@gmail.com");
+    }
+
+    @Test
+    void executeShouldReplayFirstResultForSameKey() {
+        OrderDTO first = idempotencyCache.execute("key-1", order, this::place);
+        OrderDTO second = idempotencyCache.execute("key-1", order, this::place);
+
+        assertSame(first, second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void executeShouldRunAgainForOtherUserWithSameKey() {
+        idempotencyCache.execute("key-1", order, this::place);
+        Mockito.when(customUserUtil.getLoggedUsername()).thenReturn("alex@gmail.com");
+        idempotencyCache.execute("key-1", order, this::place);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void executeShouldForgetFailedAttempt() {
+        assertThrows(ResourceNotFoundException.class, () -> idempotencyCache.execute("key-1", order, () -> {
+            throw new ResourceNotFoundException("Produto não encontrado: 1");
+        }));
+
+        assertSame(order, idempotencyCache.execute("key-1", order, this::place));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void executeShouldMakeConcurrentDuplicateWaitForFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderDTO> first = CompletableFuture.supplyAsync(() -> idempotencyCache.execute("key-1", order, () -> {
+            started.countDown();
+            await(release);
+            return place();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<OrderDTO> duplicate = CompletableFuture.supplyAsync(() -> idempotencyCache.execute("key-1", order, this::place));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void executeShouldRejectSameKeyWithDifferentOrder() {
+        idempotencyCache.execute("key-1", order, this::place);
+        OrderDTO other = new OrderDTO(OrderFactory.createOrder(UserFactory.createClientUser()));
+        other.getItems().add(new OrderItemDTO(2L, "Smart TV", 2190.0, 1, null));
+
+        assertThrows(UnprocessableEntityException.class, () -> idempotencyCache.execute("key-1", other, this::place));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void executeShouldThrowConflictWhenFirstRequestDoesNotFinishInTime() throws Exception {
+        ReflectionTestUtils.setField(idempotencyCache, "waitTimeout", Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderDTO> first = CompletableFuture.supplyAsync(() -> idempotencyCache.execute("key-1", order, () -> {
+            started.countDown();
+            await(release);
+            return place();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ConflictException.class, () -> idempotencyCache.execute("key-1", order, this::place));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void executeShouldKeepPendingAttemptWhenCacheIsCleared() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderDTO> first = CompletableFuture.supplyAsync(() -> idempotencyCache.execute("key-1", order, () -> {
+            started.countDown();
+            await(release);
+            return place();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        cacheManager.getCache(CacheConfig.ORDER_IDEMPOTENCY).clear();
+
+        CompletableFuture<OrderDTO> duplicate = CompletableFuture.supplyAsync(() -> idempotencyCache.execute("key-1", order, this::place));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    private OrderDTO place() {
+        runs.incrementAndGet();
+        return order;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.devsuperior.dscommerce.services.cache;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.FacetPageDTO;
+import com.devsuperior.dscommerce.dto.ProductFilterDTO;
+import com.devsuperior.dscommerce.dto.ProductMinDTO;
+import com.devsuperior.dscommerce.factory.ProductFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class ProductSearchCacheTest {
+
+    @InjectMocks
+    private ProductSearchCache searchCache;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCT_SEARCH);
+
+    private Pageable pageable;
+    private FacetPageDTO<ProductMinDTO> page;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        pageable = PageRequest.of(0, 12);
+        page = new FacetPageDTO<>(new PageImpl<>(List.of(new ProductMinDTO(ProductFactory.createProduct()))), List.of());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getShouldReuseResultForSameNormalizedQuery() {
+        FacetPageDTO<ProductMinDTO> first = searchCache.get(new ProductFilterDTO("Câmera"), pageable, this::load);
+        FacetPageDTO<ProductMinDTO> second = searchCache.get(new ProductFilterDTO("camera"), pageable, this::load);
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    void getShouldLoadAgainForAnotherPage() {
+        searchCache.get(new ProductFilterDTO("camera"), pageable, this::load);
+        searchCache.get(new ProductFilterDTO("camera"), PageRequest.of(1, 12), this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateShouldMakeEarlierResultsUnreachable() {
+        searchCache.get(new ProductFilterDTO("camera"), pageable, this::load);
+
+        searchCache.invalidate();
+        searchCache.get(new ProductFilterDTO("camera"), pageable, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1L, searchCache.getGeneration());
+    }
+
+    @Test
+    void weighShouldGrowWithPageContent() {
+        FacetPageDTO<ProductMinDTO> empty = new FacetPageDTO<>(new PageImpl<>(List.of()), List.of());
+
+        assertTrue(ProductSearchCache.weigh(null, page) > ProductSearchCache.weigh(null, empty));
+    }
+
+    private FacetPageDTO<ProductMinDTO> load() {
+        loads.incrementAndGet();
+        return page;
+    }
+}
@@ -0,0 +1,169 @@
+package com.devsuperior.dscommerce.services.intake;
+
+import com.devsuperior.dscommerce.config.CacheConfig;
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.dto.OrderIntakeStatusDTO;
+import com.devsuperior.dscommerce.entities.User;
+import com.devsuperior.dscommerce.factory.OrderFactory;
+import com.devsuperior.dscommerce.factory.UserFactory;
+import com.devsuperior.dscommerce.repositories.UserRepository;
+import com.devsuperior.dscommerce.services.AuthService;
+import com.devsuperior.dscommerce.services.OrderService;
+import com.devsuperior.dscommerce.services.UserService;
+import com.devsuperior.dscommerce.services.exceptions.ResourceNotFoundException;
+import com.devsuperior.dscommerce.services.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+class OrderIntakeServiceTest {
+
+    @InjectMocks
+    private OrderIntakeService service;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.ORDER_INTAKE);
+
+    private User client;
+    private OrderDTO first, second;
+
+    @BeforeEach
+    void setUp() {
+        client = UserFactory.createClientUser();
+        first = new OrderDTO(OrderFactory.createOrder(client));
+        second = new OrderDTO(OrderFactory.createOrder(client));
+
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "queue", new ArrayBlockingQueue<OrderIntakeRequest>(1));
+
+        // Mocks para submit e escrita em lote
+        Mockito.when(userService.authenticated()).thenReturn(client);
+        Mockito.when(userRepository.getReferenceById(client.getId())).thenReturn(client);
+        Mockito.when(transactionTemplate.execute(any()))
+                .thenAnswer(x -> x.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        Mockito.when(orderService.insert(eq(first), any())).thenReturn(first);
+    }
+
+    @Test
+    void submitShouldQueueOrderAndReturnTrackingId() {
+        OrderIntakeStatusDTO result = service.submit(first);
+
+        assertEquals(OrderIntakeStatusDTO.Status.QUEUED, result.getStatus());
+        assertNotNull(result.getTrackingId());
+        assertSame(result, service.findStatus(result.getTrackingId()));
+        verify(orderService, Mockito.never()).insert(any(), any());
+    }
+
+    @Test
+    void submitShouldThrowTooManyRequestsExceptionWhenQueueIsFull() {
+        service.submit(first);
+
+        assertThrows(TooManyRequestsException.class, () -> service.submit(second));
+    }
+
+    @Test
+    void submitShouldThrowResourceNotFoundExceptionWhenProductDoesNotExist() {
+        Mockito.doThrow(ResourceNotFoundException.class).when(orderService).validate(second);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.submit(second));
+        assertDoesNotThrow(() -> service.submit(first));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findStatusShouldKeepQueuedOrderWhenCacheIsClearedAndCacheOnlyFinalStatus() {
+        OrderIntakeStatusDTO queued = service.submit(first);
+        cacheManager.getCache(CacheConfig.ORDER_INTAKE).clear();
+
+        assertSame(queued, service.findStatus(queued.getTrackingId()));
+
+        BlockingQueue<OrderIntakeRequest> queue = (BlockingQueue<OrderIntakeRequest>) ReflectionTestUtils.getField(service, "queue");
+        service.write(List.of(queue.poll()));
+
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "inFlight")).isEmpty());
+        OrderIntakeStatusDTO created = cacheManager.getCache(CacheConfig.ORDER_INTAKE)
+                .get(queued.getTrackingId(), OrderIntakeStatusDTO.class);
+        assertEquals(OrderIntakeStatusDTO.Status.CREATED, created.getStatus());
+    }
+
+    @Test
+    void findStatusShouldThrowResourceNotFoundExceptionWhenTrackingIdDoesNotExist() {
+        assertThrows(ResourceNotFoundException.class, () -> service.findStatus("unknown"));
+    }
+
+    @Test
+    void writeShouldPlaceBatchInOneTransaction() {
+        Mockito.when(orderService.insert(eq(second), any())).thenReturn(second);
+        List<OrderIntakeRequest> batch = List.of(new OrderIntakeRequest("a", client.getId(), first),
+                new OrderIntakeRequest("b", client.getId(), second));
+
+        service.write(batch);
+
+        verify(transactionTemplate, Mockito.times(1)).execute(any());
+        assertEquals(OrderIntakeStatusDTO.Status.CREATED, service.findStatus("a").getStatus());
+        assertEquals(second.getId(), service.findStatus("b").getOrderId());
+    }
+
+    @Test
+    void writeShouldRetryOrdersAloneWhenBatchFails() {
+        Mockito.when(orderService.insert(eq(second), any())).thenThrow(new ResourceNotFoundException("Produto não encontrado: 1"));
+        List<OrderIntakeRequest> batch = List.of(new OrderIntakeRequest("a", client.getId(), first),
+                new OrderIntakeRequest("b", client.getId(), second));
+
+        service.write(batch);
+
+        verify(transactionTemplate, Mockito.times(3)).execute(any());
+        assertEquals(OrderIntakeStatusDTO.Status.CREATED, service.findStatus("a").getStatus());
+        OrderIntakeStatusDTO failed = service.findStatus("b");
+        assertEquals(OrderIntakeStatusDTO.Status.FAILED, failed.getStatus());
+        assertEquals("Produto não encontrado: 1", failed.getMessage());
+    }
+
+    @Test
+    void writeShouldNotExposeMessageOfUnexpectedFailure() {
+        Mockito.when(orderService.insert(eq(second), any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement [tb_order_item_fk]"));
+
+        service.write(List.of(new OrderIntakeRequest("b", client.getId(), second)));
+
+        assertEquals("Falha de integridade referencial", service.findStatus("b").getMessage());
+    }
+}
@@ -0,0 +1,114 @@
+package com.devsuperior.dscommerce.services.search;
+
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.factory.ProductFactory;
+import com.devsuperior.dscommerce.projections.ProductCategoryProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class CategoryFacetIndexTest {
+
+    @InjectMocks
+    private CategoryFacetIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        Mockito.when(repository.searchProductCategories()).thenReturn(List.of(
+                projection(1L, 1L),
+                projection(2L, 2L),
+                projection(2L, 3L),
+                projection(3L, 3L),
+                projection(4L, 3L)));
+
+        index.rebuild();
+    }
+
+    @Test
+    void anyOfShouldReturnUnionOfCategories() {
+        BitSet result = index.anyOf(List.of(1L, 2L));
+
+        assertEquals(ProductBits.of(List.of(1L, 2L)), result);
+    }
+
+    @Test
+    void anyOfShouldIgnoreUnknownCategories() {
+        assertTrue(index.anyOf(List.of(99L)).isEmpty());
+    }
+
+    @Test
+    void countShouldReturnMatchesPerCategorySkippingEmptyOnes() {
+        Map<Long, Long> result = index.count(ProductBits.of(List.of(2L, 3L)));
+
+        assertEquals(Map.of(2L, 1L, 3L, 2L), result);
+    }
+
+    @Test
+    void countShouldCountWholeCategoriesWhenMatchesCoverThem() {
+        Map<Long, Long> result = index.count(ProductBits.of(List.of(1L, 2L, 3L, 4L, 5L)));
+
+        assertEquals(Map.of(1L, 1L, 2L, 1L, 3L, 3L), result);
+    }
+
+    @Test
+    void onProductChangedShouldMoveUpdatedAndDropDeletedProducts() {
+        Product product = ProductFactory.createProduct();
+        product.setId(4L);
+
+        index.onProductChanged(new ProductChangedEvent(4L, new ProductDTO(product)));
+        index.onProductChanged(new ProductChangedEvent(3L, null));
+
+        assertEquals(ProductBits.of(List.of(1L, 4L)), index.anyOf(List.of(1L)));
+        assertEquals(ProductBits.of(List.of(2L)), index.anyOf(List.of(3L)));
+    }
+
+    @Test
+    void rebuildShouldReplayChangesCommittedWhileRowsAreRead() {
+        Product product = ProductFactory.createProduct();
+        product.setId(6L);
+        Mockito.when(repository.searchProductCategories()).thenAnswer(x -> {
+            index.onProductChanged(new ProductChangedEvent(6L, new ProductDTO(product)));
+            index.onProductChanged(new ProductChangedEvent(2L, null));
+            return List.of(projection(1L, 1L), projection(2L, 2L));
+        });
+
+        index.rebuild();
+
+        assertEquals(ProductBits.of(List.of(1L, 6L)), index.anyOf(List.of(1L)));
+        assertTrue(index.anyOf(List.of(2L)).isEmpty());
+    }
+
+    private static ProductCategoryProjection projection(Long productId, Long categoryId) {
+        return new ProductCategoryProjection() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+        };
+    }
+}
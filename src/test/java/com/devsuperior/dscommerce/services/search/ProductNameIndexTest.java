@@ -0,0 +1,146 @@
+package com.devsuperior.dscommerce.services.search;
+
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.factory.ProductFactory;
+import com.devsuperior.dscommerce.projections.ProductNameProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class ProductNameIndexTest {
+
+    @InjectMocks
+    private ProductNameIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxFuzzyCandidates", 1000);
+        ReflectionTestUtils.setField(index, "minFuzzySimilarity", 0.5);
+
+        Mockito.when(repository.searchProductNames()).thenReturn(List.of(
+                projection(1L, "The Lord of the Rings"),
+                projection(2L, "Smart TV"),
+                projection(3L, "Macbook Pro"),
+                projection(4L, "PC Gamer Tera"),
+                projection(5L, "PC Gamer")));
+
+        index.rebuild();
+    }
+
+    @Test
+    void searchShouldReturnIdsWhoseNameContainsTermIgnoringCase() {
+        List<Long> result = index.search("gAmEr", Sort.unsorted());
+
+        assertEquals(List.of(4L, 5L), result);
+    }
+
+    @Test
+    void searchShouldMatchTermsShorterThanOneGram() {
+        List<Long> result = index.search("tv", Sort.unsorted());
+
+        assertEquals(List.of(2L), result);
+    }
+
+    @Test
+    void searchShouldReturnEmptyListWhenNoNameMatches() {
+        assertTrue(index.search("playstation", Sort.unsorted()).isEmpty());
+    }
+
+    @Test
+    void searchShouldOrderResultsBySort() {
+        assertEquals(List.of(5L, 4L), index.search("pc gamer", Sort.by("name")));
+        assertEquals(List.of(5L, 4L), index.search("pc gamer", Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    @Test
+    void searchFuzzyShouldMatchMisspelledTermsRankedBySimilarity() {
+        assertEquals(List.of(3L), index.searchFuzzy("macbok", Sort.unsorted()));
+        assertEquals(List.of(5L, 4L), index.searchFuzzy("pc gamr", Sort.unsorted()));
+    }
+
+    @Test
+    void searchFuzzyShouldRejectTermsBelowMinimumSimilarity() {
+        assertTrue(index.searchFuzzy("playstation", Sort.unsorted()).isEmpty());
+    }
+
+    @Test
+    void searchFuzzyShouldScoreAtMostMaxCandidates() {
+        ReflectionTestUtils.setField(index, "maxFuzzyCandidates", 1);
+
+        assertEquals(1, index.searchFuzzy("pc gamer", Sort.unsorted()).size());
+    }
+
+    @Test
+    void searchFuzzyShouldTakeCappedCandidatesFromRarestGrams() {
+        ReflectionTestUtils.setField(index, "maxFuzzyCandidates", 1);
+
+        assertEquals(List.of(4L), index.searchFuzzy("pc gamer tera", Sort.unsorted()));
+    }
+
+    @Test
+    void supportsShouldRejectSortByUnindexedProperty() {
+        assertTrue(index.supports(Sort.by("name")));
+        assertFalse(index.supports(Sort.by("price")));
+    }
+
+    @Test
+    void onProductChangedShouldReindexUpdatedAndDeletedProducts() {
+        Product product = ProductFactory.createProduct("PlayStation 5");
+        product.setId(2L);
+
+        index.onProductChanged(new ProductChangedEvent(2L, new ProductDTO(product)));
+        index.onProductChanged(new ProductChangedEvent(3L, null));
+
+        assertEquals(List.of(2L), index.search("station", Sort.unsorted()));
+        assertTrue(index.search("smart", Sort.unsorted()).isEmpty());
+        assertTrue(index.search("macbook", Sort.unsorted()).isEmpty());
+    }
+
+    @Test
+    void rebuildShouldReplayChangesCommittedWhileRowsAreRead() {
+        Product product = ProductFactory.createProduct("PlayStation 5");
+        product.setId(6L);
+        Mockito.when(repository.searchProductNames()).thenAnswer(x -> {
+            index.onProductChanged(new ProductChangedEvent(6L, new ProductDTO(product)));
+            index.onProductChanged(new ProductChangedEvent(2L, null));
+            return List.of(projection(1L, "The Lord of the Rings"), projection(2L, "Smart TV"));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(6L), index.search("station", Sort.unsorted()));
+        assertTrue(index.search("smart", Sort.unsorted()).isEmpty());
+    }
+
+    private static ProductNameProjection projection(Long id, String name) {
+        return new ProductNameProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
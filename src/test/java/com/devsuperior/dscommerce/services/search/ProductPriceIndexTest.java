@@ -0,0 +1,124 @@
+package com.devsuperior.dscommerce.services.search;
+
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.factory.ProductFactory;
+import com.devsuperior.dscommerce.projections.ProductPriceProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class ProductPriceIndexTest {
+
+    @InjectMocks
+    private ProductPriceIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        Mockito.when(repository.searchProductPrices()).thenReturn(List.of(
+                projection(3L, 90.5),
+                projection(1L, 1250.0),
+                projection(4L, 90.5),
+                projection(2L, 2190.0),
+                projection(5L, null)));
+
+        index.rebuild();
+    }
+
+    @Test
+    void betweenShouldReturnProductsWithinInclusiveRange() {
+        assertEquals(ProductBits.of(List.of(1L, 3L, 4L)), index.between(90.5, 1250.0));
+    }
+
+    @Test
+    void betweenShouldTreatNullBoundsAsOpenAndSkipMissingPrices() {
+        assertEquals(ProductBits.of(List.of(1L, 2L)), index.between(100.0, null));
+        assertEquals(ProductBits.of(List.of(3L, 4L)), index.between(null, 100.0));
+    }
+
+    @Test
+    void betweenShouldIncludeMissingPricesWhenNoBoundIsSet() {
+        assertEquals(ProductBits.of(List.of(1L, 2L, 3L, 4L, 5L)), index.between(null, null));
+    }
+
+    @Test
+    void sortShouldOrderMatchesByPriceThenId() {
+        assertEquals(List.of(3L, 4L, 1L), index.sort(ProductBits.of(List.of(1L, 3L, 4L)), Sort.Direction.ASC));
+        assertEquals(List.of(2L, 1L, 4L, 3L), index.sort(ProductBits.of(List.of(1L, 2L, 3L, 4L)), Sort.Direction.DESC));
+    }
+
+    @Test
+    void sortShouldLookUpPricesWhenFewProductsMatch() {
+        assertEquals(List.of(3L, 1L), index.sort(ProductBits.of(List.of(1L, 3L)), Sort.Direction.ASC));
+        assertEquals(List.of(5L, 2L), index.sort(ProductBits.of(List.of(2L, 5L)), Sort.Direction.DESC));
+        assertEquals(List.of(4L), index.sort(ProductBits.of(List.of(4L, 99L)), Sort.Direction.ASC));
+    }
+
+    @Test
+    void supportsShouldAcceptOnlySingleOrderByPrice() {
+        assertTrue(index.supports(Sort.by(Sort.Direction.DESC, "price")));
+        assertFalse(index.supports(Sort.by("price", "name")));
+        assertFalse(index.supports(Sort.by("name")));
+    }
+
+    @Test
+    void onProductChangedShouldRepositionUpdatedAndDropDeletedProducts() {
+        Product product = ProductFactory.createProduct();
+        product.setId(3L);
+        product.setPrice(5000.0);
+
+        index.onProductChanged(new ProductChangedEvent(3L, new ProductDTO(product)));
+        index.onProductChanged(new ProductChangedEvent(2L, null));
+
+        assertEquals(List.of(4L, 1L, 3L), index.sort(ProductBits.of(List.of(1L, 2L, 3L, 4L)), Sort.Direction.ASC));
+        assertEquals(ProductBits.of(List.of(3L)), index.between(2000.0, null));
+    }
+
+    @Test
+    void rebuildShouldReplayChangesCommittedWhileRowsAreRead() {
+        Product product = ProductFactory.createProduct();
+        product.setId(6L);
+        product.setPrice(10.0);
+        Mockito.when(repository.searchProductPrices()).thenAnswer(x -> {
+            index.onProductChanged(new ProductChangedEvent(6L, new ProductDTO(product)));
+            index.onProductChanged(new ProductChangedEvent(2L, null));
+            return List.of(projection(1L, 1250.0), projection(2L, 2190.0));
+        });
+
+        index.rebuild();
+
+        assertEquals(ProductBits.of(List.of(1L, 6L)), index.between(null, null));
+    }
+
+    private static ProductPriceProjection projection(Long id, Double price) {
+        return new ProductPriceProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Double getPrice() {
+                return price;
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.devsuperior.dscommerce.services.search;
+
+import com.devsuperior.dscommerce.dto.OrderDTO;
+import com.devsuperior.dscommerce.entities.Order;
+import com.devsuperior.dscommerce.factory.OrderFactory;
+import com.devsuperior.dscommerce.factory.UserFactory;
+import com.devsuperior.dscommerce.services.events.OrderPlacedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+class ProductSalesCounterTest {
+
+    @InjectMocks
+    private ProductSalesCounter counter;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ProductSuggestIndex suggestIndex;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = OrderFactory.createOrder(UserFactory.createClientUser());
+
+        // Mock para a transação do lote
+        Mockito.when(transactionTemplate.execute(any()))
+                .thenAnswer(x -> x.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    @Test
+    void onOrderPlacedShouldAccumulateUnitsPerProduct() {
+        counter.onOrderPlaced(new OrderPlacedEvent(new OrderDTO(order)));
+        counter.onOrderPlaced(new OrderPlacedEvent(new OrderDTO(order)));
+
+        Long productId = order.getItems().iterator().next().getProduct().getId();
+        long quantity = order.getItems().iterator().next().getQuantity();
+        assertEquals(2 * quantity, counter.pending(productId));
+    }
+
+    @Test
+    void flushShouldWriteDeltasInOneBatchAndResetCounters() {
+        counter.record(1L, 3);
+        counter.record(2L, 1);
+
+        assertEquals(2, counter.flush());
+        assertEquals(0L, counter.pending(1L));
+        assertEquals(0, counter.flush());
+        verify(jdbcTemplate, Mockito.times(1)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(suggestIndex).addSoldUnits(1L, 3);
+        verify(suggestIndex).addSoldUnits(2L, 1);
+    }
+
+    @Test
+    void flushShouldKeepDeltasWhenBatchFails() {
+        counter.record(1L, 3);
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("offline"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> counter.flush());
+        assertEquals(3L, counter.pending(1L));
+        verify(suggestIndex, Mockito.never()).addSoldUnits(any(), Mockito.anyLong());
+    }
+
+    @Test
+    void flushShouldRollBackWholeBatchWhenOneRowFails() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:sales-counter;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE tb_product (id BIGINT PRIMARY KEY, sold_units BIGINT NOT NULL CHECK (sold_units <= 10))");
+        jdbc.update("INSERT INTO tb_product (id, sold_units) VALUES (1, 0), (2, 10)");
+        ReflectionTestUtils.setField(counter, "jdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(counter, "transactionTemplate", new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        counter.record(1L, 3);
+        counter.record(2L, 1);
+
+        assertThrows(DataAccessException.class, () -> counter.flush());
+        assertEquals(0L, jdbc.queryForObject("SELECT sold_units FROM tb_product WHERE id = 1", Long.class));
+
+        jdbc.update("UPDATE tb_product SET sold_units = 0 WHERE id = 2");
+        counter.flush();
+
+        assertEquals(3L, jdbc.queryForObject("SELECT sold_units FROM tb_product WHERE id = 1", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT sold_units FROM tb_product WHERE id = 2", Long.class));
+    }
+}
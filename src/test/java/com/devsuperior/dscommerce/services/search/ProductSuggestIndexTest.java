@@ -0,0 +1,141 @@
+package com.devsuperior.dscommerce.services.search;
+
+import com.devsuperior.dscommerce.dto.ProductDTO;
+import com.devsuperior.dscommerce.entities.Product;
+import com.devsuperior.dscommerce.factory.ProductFactory;
+import com.devsuperior.dscommerce.projections.ProductSuggestionProjection;
+import com.devsuperior.dscommerce.repositories.ProductRepository;
+import com.devsuperior.dscommerce.services.events.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+class ProductSuggestIndexTest {
+
+    @InjectMocks
+    private ProductSuggestIndex index;
+
+    @Mock
+    private ProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        Mockito.when(repository.searchProductSuggestions()).thenReturn(List.of(
+                projection(1L, "PC Gamer Tera", 30L),
+                projection(2L, "PC Gamer", 5L),
+                projection(3L, "Macbook Pro", 0L),
+                projection(4L, "PC Gamer Max", 0L),
+                projection(5L, "pc gamer", 10L)));
+
+        index.rebuild();
+    }
+
+    @Test
+    void suggestShouldReturnDistinctNamesWithPrefixBestSellersFirst() {
+        assertEquals(List.of("PC Gamer Tera", "PC Gamer", "PC Gamer Max"), index.suggest("pc g", 10));
+    }
+
+    @Test
+    void suggestShouldStopAtLimit() {
+        assertEquals(List.of("PC Gamer Tera", "PC Gamer"), index.suggest("PC", 2));
+    }
+
+    @Test
+    void addSoldUnitsShouldRerankNamesUnderEveryPrefix() {
+        index.addSoldUnits(4L, 100L);
+
+        assertEquals(List.of("PC Gamer Max"), index.suggest("pc", 1));
+        assertEquals(List.of("PC Gamer Max"), index.suggest("", 1));
+    }
+
+    @Test
+    void suggestShouldBreakTiesAlphabetically() {
+        index.addSoldUnits(4L, 30L);
+
+        assertEquals(List.of("PC Gamer Max", "PC Gamer Tera", "PC Gamer"), index.suggest("pc gamer", 10));
+    }
+
+    @Test
+    void suggestShouldReturnEmptyListWhenNoNameHasPrefix() {
+        assertTrue(index.suggest("gamer", 10).isEmpty());
+    }
+
+    @Test
+    void onProductChangedShouldReindexUpdatedAndDeletedProducts() {
+        Product product = ProductFactory.createProduct("Macbook Air");
+        product.setId(3L);
+
+        index.onProductChanged(new ProductChangedEvent(3L, new ProductDTO(product)));
+        index.onProductChanged(new ProductChangedEvent(4L, null));
+        index.onProductChanged(new ProductChangedEvent(2L, null));
+
+        assertEquals(List.of("Macbook Air"), index.suggest("mac", 10));
+        assertEquals(List.of("PC Gamer Tera", "pc gamer"), index.suggest("pc", 10));
+    }
+
+    @Test
+    void onProductChangedShouldKeepSoldUnitsOfRenamedProduct() {
+        Product product = ProductFactory.createProduct("Mouse Gamer");
+        product.setId(1L);
+
+        index.onProductChanged(new ProductChangedEvent(1L, new ProductDTO(product)));
+        index.onProductChanged(new ProductChangedEvent(7L, new ProductDTO(ProductFactory.createProduct("Macbook Air"))));
+
+        assertEquals(List.of("Mouse Gamer", "Macbook Air", "Macbook Pro"), index.suggest("m", 10));
+    }
+
+    @Test
+    void onProductChangedShouldKeepSharedNameWhileAnotherProductUsesIt() {
+        index.onProductChanged(new ProductChangedEvent(5L, null));
+
+        assertEquals(List.of("PC Gamer Tera", "PC Gamer", "PC Gamer Max"), index.suggest("pc gamer", 10));
+    }
+
+    @Test
+    void rebuildShouldReplayChangesCommittedWhileRowsAreRead() {
+        Product product = ProductFactory.createProduct("Macbook Air");
+        product.setId(6L);
+        Mockito.when(repository.searchProductSuggestions()).thenAnswer(x -> {
+            index.onProductChanged(new ProductChangedEvent(6L, new ProductDTO(product)));
+            index.onProductChanged(new ProductChangedEvent(3L, null));
+            index.addSoldUnits(4L, 2L);
+            return List.of(projection(3L, "Macbook Pro", 0L), projection(4L, "PC Gamer Max", 0L), projection(5L, "pc gamer", 1L));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("Macbook Air"), index.suggest("mac", 10));
+        assertEquals(List.of("PC Gamer Max", "pc gamer"), index.suggest("pc", 10));
+    }
+
+    private static ProductSuggestionProjection projection(Long id, String name, Long soldUnits) {
+        return new ProductSuggestionProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getSoldUnits() {
+                return soldUnits;
+            }
+        };
+    }
+}